@@ -4,15 +4,27 @@ import junit.framework.Test;
 import junit.framework.TestCase;
 import junit.framework.TestResult;
 import junit.framework.TestSuite;
+import org.junit.internal.runners.SharedSchedulerPool;
+import org.junit.runner.notification.StoppedByUserException;
+import org.junit.runners.model.RunnerScheduler;
 
 /**
- * A TestSuite for active Tests. It runs each
- * test in a separate thread and waits until all
- * threads have terminated.
+ * A TestSuite for active Tests. It runs the tests
+ * concurrently and waits until all of them have finished.
+ * <p>
+ * The tests run on a bounded pool of threads. By default all
+ * active test suites share a pool with four threads per processor;
+ * {@link #setParallelism(int)} gives a suite a pool of its own.
+ * Active test suites can be nested without exhausting the pool.
  * -- Aarhus Radisson Scandinavian Center 11th floor
  */
 public class ActiveTestSuite extends TestSuite {
-    private volatile int fActiveTestDeathCount;
+    private static final SharedSchedulerPool DEFAULT_POOL = new SharedSchedulerPool(
+            4 * SharedSchedulerPool.defaultParallelism());
+
+    private final ThreadLocal<RunnerScheduler> fScheduler = new ThreadLocal<RunnerScheduler>();
+
+    private volatile SharedSchedulerPool fPool = DEFAULT_POOL;
 
     public ActiveTestSuite() {
     }
@@ -29,42 +41,69 @@ public class ActiveTestSuite extends TestSuite {
         super(theClass, name);
     }
 
+    /**
+     * Runs the tests of this suite on a pool of its own with at most
+     * {@code parallelism} threads.
+     *
+     * @throws IllegalArgumentException if {@code parallelism} is not positive
+     * @since 4.12
+     */
+    public void setParallelism(int parallelism) {
+        fPool = new SharedSchedulerPool(parallelism);
+    }
+
+    /**
+     * Runs the tests and waits until all of them have finished. A test that
+     * leaves its thread interrupted does not affect the other tests. If the
+     * waiting thread is interrupted, the tests that have not started yet are
+     * not run, the running tests are interrupted, the result is
+     * {@link TestResult#stop() stopped}, and this method returns without
+     * waiting for them. The thread keeps its interrupted status.
+     */
     @Override
     public void run(TestResult result) {
-        fActiveTestDeathCount = 0;
-        super.run(result);
-        waitUntilFinished();
+        RunnerScheduler scheduler = fPool.newScheduler();
+        RunnerScheduler outer = fScheduler.get();
+        fScheduler.set(scheduler);
+        try {
+            super.run(result);
+        } finally {
+            if (outer == null) {
+                fScheduler.remove();
+            } else {
+                fScheduler.set(outer);
+            }
+            try {
+                scheduler.finished();
+            } catch (StoppedByUserException e) {
+                result.stop();
+            }
+        }
     }
 
     @Override
     public void runTest(final Test test, final TestResult result) {
-        Thread t = new Thread() {
-            @Override
+        Runnable run = new Runnable() {
             public void run() {
                 try {
-                    // inlined due to limitation in VA/Java
-                    //ActiveTestSuite.super.runTest(test, result);
                     test.run(result);
                 } finally {
-                    ActiveTestSuite.this.runFinished();
+                    runFinished();
                 }
             }
         };
-        t.start();
-    }
-
-    synchronized void waitUntilFinished() {
-        while (fActiveTestDeathCount < testCount()) {
-            try {
-                wait();
-            } catch (InterruptedException e) {
-                return; // ignore
-            }
+        RunnerScheduler scheduler = fScheduler.get();
+        if (scheduler == null) {
+            // Not called by run(TestResult)
+            run.run();
+        } else {
+            scheduler.schedule(run);
         }
     }
 
-    synchronized public void runFinished() {
-        fActiveTestDeathCount++;
-        notifyAll();
+    /**
+     * Called after each test has run, in the thread that ran the test.
+     */
+    public void runFinished() {
     }
-}
\ No newline at end of file
+}
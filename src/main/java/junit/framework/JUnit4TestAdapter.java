@@ -58,7 +58,7 @@ public class JUnit4TestAdapter implements Test, Filterable, Sortable, Describabl
             return Description.EMPTY;
         }
         Description result = description.childlessCopy();
-        for (Description each : description.getChildren()) {
+        for (Description each : description.getChildrenUnmodifiable()) {
             Description child = removeIgnored(each);
             if (!child.isEmpty()) {
                 result.addChild(child);
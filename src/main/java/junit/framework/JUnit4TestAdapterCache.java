@@ -1,19 +1,90 @@
 package junit.framework;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.junit.runner.Description;
 import org.junit.runner.notification.Failure;
 import org.junit.runner.notification.RunListener;
 import org.junit.runner.notification.RunNotifier;
 
+/**
+ * Creates the {@link Test}s that represent JUnit 4 tests in JUnit 3 and
+ * returns the same {@code Test} for a {@link Description} for as long as the
+ * {@code Test} is in use.
+ *
+ * <p>The cache is safe to use from several threads and for many runs. It only
+ * keeps weak references to the {@code Test}s, so entries disappear once
+ * nobody but the cache refers to a {@code Test} any more. A notifier returned
+ * by {@link #getNotifier(TestResult, JUnit4TestAdapter)} keeps the
+ * {@code Test}s of its run, so they stay the same while the run lasts.
+ *
+ * <p>Although the cache is a {@link HashMap}, it keeps its entries elsewhere.
+ * The methods of the map up to Java 5, and {@code getOrDefault},
+ * {@code putIfAbsent}, {@code remove(key, value)} and {@code replace} of later
+ * versions, work on these entries; the views of the map are snapshots of them.
+ * The methods that later versions added and that take a function, such as
+ * {@code computeIfAbsent}, {@code forEach} and {@code replaceAll}, only see
+ * the empty storage inherited from {@code HashMap} and must not be used.
+ * {@link #asTest(Description)} and {@link #get(Object)} are the supported way
+ * to look up a {@code Test}. A serialized cache holds the {@code Test}s that
+ * were in use; a deserialized cache keeps them until they are removed.
+ */
 public class JUnit4TestAdapterCache extends HashMap<Description, Test> {
     private static final long serialVersionUID = 1L;
     private static final JUnit4TestAdapterCache fInstance = new JUnit4TestAdapterCache();
 
+    private transient ConcurrentMap<Description, TestReference> fTests;
+    private transient ReferenceQueue<Test> fUnusedTests;
+    // The Tests read by readObject, which nobody else refers to
+    private transient Map<Description, Test> fDeserializedTests;
+
+    public JUnit4TestAdapterCache() {
+        initialize();
+    }
+
+    private void initialize() {
+        fTests = new ConcurrentHashMap<Description, TestReference>();
+        fUnusedTests = new ReferenceQueue<Test>();
+    }
+
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        stream.defaultWriteObject();
+        Map<Description, Test> tests = snapshot();
+        stream.writeInt(tests.size());
+        for (Map.Entry<Description, Test> each : tests.entrySet()) {
+            stream.writeObject(each.getKey());
+            stream.writeObject(each.getValue());
+        }
+    }
+
+    private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        initialize();
+        int size = stream.readInt();
+        fDeserializedTests = new HashMap<Description, Test>();
+        for (int i = 0; i < size; i++) {
+            Description description = (Description) stream.readObject();
+            Test test = (Test) stream.readObject();
+            fDeserializedTests.put(description, test);
+            put(description, test);
+        }
+    }
+
     public static JUnit4TestAdapterCache getDefault() {
         return fInstance;
     }
@@ -22,10 +93,192 @@ public class JUnit4TestAdapterCache extends HashMap<Description, Test> {
         if (description.isSuite()) {
             return createTest(description);
         } else {
-            if (!containsKey(description)) {
-                put(description, createTest(description));
+            removeUnusedTests();
+            while (true) {
+                Test test = get(description);
+                if (test != null) {
+                    return test;
+                }
+                Test created = createTest(description);
+                TestReference reference = new TestReference(description, created, fUnusedTests);
+                TestReference previous = fTests.putIfAbsent(description, reference);
+                if (previous == null) {
+                    return created;
+                }
+                // Another thread created a Test first; use it unless it is gone already
+                test = previous.get();
+                if (test != null) {
+                    return test;
+                }
+                fTests.remove(description, previous);
+            }
+        }
+    }
+
+    private void removeUnusedTests() {
+        Reference<? extends Test> reference;
+        while ((reference = fUnusedTests.poll()) != null) {
+            TestReference unused = (TestReference) reference;
+            fTests.remove(unused.fDescription, unused);
+        }
+    }
+
+    @Override
+    public Test get(Object description) {
+        TestReference reference = fTests.get(description);
+        return reference == null ? null : reference.get();
+    }
+
+    // Overrides the method added in Java 8
+    public Test getOrDefault(Object description, Test defaultTest) {
+        Test test = get(description);
+        return test != null ? test : defaultTest;
+    }
+
+    @Override
+    public boolean containsKey(Object description) {
+        return get(description) != null;
+    }
+
+    // Overrides the method added in Java 8
+    public Test putIfAbsent(Description description, Test test) {
+        removeUnusedTests();
+        TestReference reference = new TestReference(description, test, fUnusedTests);
+        while (true) {
+            TestReference previous = fTests.putIfAbsent(description, reference);
+            if (previous == null) {
+                return null;
+            }
+            Test previousTest = previous.get();
+            if (previousTest != null) {
+                return previousTest;
+            }
+            fTests.remove(description, previous);
+        }
+    }
+
+    // Overrides the method added in Java 8
+    public boolean remove(Object description, Object test) {
+        TestReference reference = fTests.get(description);
+        if (reference != null && test != null && test.equals(reference.get())
+                && fTests.remove(description, reference)) {
+            forgetDeserializedTest(description);
+            return true;
+        }
+        return false;
+    }
+
+    // Overrides the method added in Java 8
+    public boolean replace(Description description, Test oldTest, Test newTest) {
+        TestReference reference = fTests.get(description);
+        return reference != null && oldTest != null && oldTest.equals(reference.get())
+                && fTests.replace(description, reference,
+                        new TestReference(description, newTest, fUnusedTests));
+    }
+
+    // Overrides the method added in Java 8
+    public Test replace(Description description, Test test) {
+        TestReference replacement = new TestReference(description, test, fUnusedTests);
+        while (true) {
+            TestReference reference = fTests.get(description);
+            Test previous = reference == null ? null : reference.get();
+            if (previous == null) {
+                return null;
+            }
+            if (fTests.replace(description, reference, replacement)) {
+                return previous;
+            }
+        }
+    }
+
+    @Override
+    public Test put(Description description, Test test) {
+        removeUnusedTests();
+        TestReference previous = fTests.put(description,
+                new TestReference(description, test, fUnusedTests));
+        return previous == null ? null : previous.get();
+    }
+
+    @Override
+    public void putAll(Map<? extends Description, ? extends Test> tests) {
+        for (Map.Entry<? extends Description, ? extends Test> each : tests.entrySet()) {
+            put(each.getKey(), each.getValue());
+        }
+    }
+
+    @Override
+    public boolean containsValue(Object test) {
+        return snapshot().containsValue(test);
+    }
+
+    @Override
+    public Test remove(Object description) {
+        forgetDeserializedTest(description);
+        TestReference previous = fTests.remove(description);
+        return previous == null ? null : previous.get();
+    }
+
+    private void forgetDeserializedTest(Object description) {
+        if (fDeserializedTests != null) {
+            synchronized (this) {
+                fDeserializedTests.remove(description);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (fDeserializedTests != null) {
+            synchronized (this) {
+                fDeserializedTests.clear();
+            }
+        }
+        fTests.clear();
+    }
+
+    @Override
+    public int size() {
+        return snapshot().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public Set<Map.Entry<Description, Test>> entrySet() {
+        return Collections.unmodifiableMap(snapshot()).entrySet();
+    }
+
+    @Override
+    public Set<Description> keySet() {
+        return Collections.unmodifiableMap(snapshot()).keySet();
+    }
+
+    @Override
+    public Collection<Test> values() {
+        return Collections.unmodifiableMap(snapshot()).values();
+    }
+
+    private Map<Description, Test> snapshot() {
+        removeUnusedTests();
+        Map<Description, Test> snapshot = new HashMap<Description, Test>();
+        for (Map.Entry<Description, TestReference> each : fTests.entrySet()) {
+            Test test = each.getValue().get();
+            if (test != null) {
+                snapshot.put(each.getKey(), test);
             }
-            return get(description);
+        }
+        return snapshot;
+    }
+
+    private static class TestReference extends WeakReference<Test> {
+        private final Description fDescription;
+
+        TestReference(Description description, Test test, ReferenceQueue<Test> queue) {
+            super(test, queue);
+            fDescription = description;
         }
     }
 
@@ -34,7 +287,7 @@ public class JUnit4TestAdapterCache extends HashMap<Description, Test> {
             return new JUnit4TestCaseFacade(description);
         } else {
             TestSuite suite = new TestSuite(description.getDisplayName());
-            for (Description child : description.getChildren()) {
+            for (Description child : description.getChildrenUnmodifiable()) {
                 suite.addTest(asTest(child));
             }
             return suite;
@@ -42,21 +295,36 @@ public class JUnit4TestAdapterCache extends HashMap<Description, Test> {
     }
 
     public RunNotifier getNotifier(final TestResult result, final JUnit4TestAdapter adapter) {
+        // Keeps the Tests of this run, so that listeners get the same Test
+        // for all events of a test, even if nobody else refers to it.
+        final ConcurrentMap<Description, Test> testsOfRun = new ConcurrentHashMap<Description, Test>();
         RunNotifier notifier = new RunNotifier();
         notifier.addListener(new RunListener() {
             @Override
             public void testFailure(Failure failure) throws Exception {
-                result.addError(asTest(failure.getDescription()), failure.getException());
+                result.addError(testOfRun(failure.getDescription()), failure.getException());
             }
 
             @Override
             public void testFinished(Description description) throws Exception {
-                result.endTest(asTest(description));
+                result.endTest(testOfRun(description));
             }
 
             @Override
             public void testStarted(Description description) throws Exception {
-                result.startTest(asTest(description));
+                result.startTest(testOfRun(description));
+            }
+
+            private Test testOfRun(Description description) {
+                Test test = testsOfRun.get(description);
+                if (test == null) {
+                    test = asTest(description);
+                    Test previous = testsOfRun.putIfAbsent(description, test);
+                    if (previous != null) {
+                        test = previous;
+                    }
+                }
+                return test;
             }
         });
         return notifier;
@@ -67,7 +335,7 @@ public class JUnit4TestAdapterCache extends HashMap<Description, Test> {
             return Arrays.asList(asTest(description));
         } else {
             List<Test> returnThis = new ArrayList<Test>();
-            for (Description child : description.getChildren()) {
+            for (Description child : description.getChildrenUnmodifiable()) {
                 returnThis.add(asTest(child));
             }
             return returnThis;
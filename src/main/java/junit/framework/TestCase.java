@@ -4,6 +4,8 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 
+import org.junit.internal.runners.TestCaseMethods;
+
 /**
  * A test case defines the fixture to run multiple tests. To define a test case<br/>
  * <ol>
@@ -158,14 +160,10 @@ public abstract class TestCase extends Assert implements Test {
      */
     protected void runTest() throws Throwable {
         assertNotNull("TestCase.fName cannot be null", fName); // Some VMs crash when calling getMethod(null,null);
-        Method runMethod = null;
-        try {
-            // use getMethod to get all public inherited
-            // methods. getDeclaredMethods returns all
-            // methods of this class but excludes the
-            // inherited ones.
-            runMethod = getClass().getMethod(fName, (Class[]) null);
-        } catch (NoSuchMethodException e) {
+        // The public methods of a class, including the inherited ones, are
+        // looked up once and shared by all tests of the class.
+        Method runMethod = TestCaseMethods.forClass(getClass()).getMethod(fName);
+        if (runMethod == null) {
             fail("Method \"" + fName + "\" not found");
         }
         if (!Modifier.isPublic(runMethod.getModifiers())) {
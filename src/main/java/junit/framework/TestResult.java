@@ -4,6 +4,10 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import org.junit.internal.AppendOnlyList;
 
 /**
  * A <code>TestResult</code> collects the results of executing
@@ -11,20 +15,29 @@ import java.util.List;
  * The test framework distinguishes between <i>failures</i> and <i>errors</i>.
  * A failure is anticipated and checked for with assertions. Errors are
  * unanticipated problems like an {@link ArrayIndexOutOfBoundsException}.
+ * <p>
+ * A <code>TestResult</code> can be used by tests running in several threads.
+ * Notifying the listeners takes no locks, because they are kept in a
+ * copy-on-write list. The failures and errors are kept in append-only lists,
+ * which never copy the failures that were already added and can be read while
+ * tests are still running, and the number of run tests is updated atomically.
  *
  * @see Test
  */
 public class TestResult {
+    private static final AtomicIntegerFieldUpdater<TestResult> RUN_TESTS =
+            AtomicIntegerFieldUpdater.newUpdater(TestResult.class, "fRunTests");
+
     protected List<TestFailure> fFailures;
     protected List<TestFailure> fErrors;
     protected List<TestListener> fListeners;
-    protected int fRunTests;
-    private boolean fStop;
+    protected volatile int fRunTests;
+    private volatile boolean fStop;
 
     public TestResult() {
-        fFailures = new ArrayList<TestFailure>();
-        fErrors = new ArrayList<TestFailure>();
-        fListeners = new ArrayList<TestListener>();
+        fFailures = new AppendOnlyList<TestFailure>();
+        fErrors = new AppendOnlyList<TestFailure>();
+        fListeners = new CopyOnWriteArrayList<TestListener>();
         fRunTests = 0;
         fStop = false;
     }
@@ -33,7 +46,7 @@ public class TestResult {
      * Adds an error to the list of errors. The passed in exception
      * caused the error.
      */
-    public synchronized void addError(Test test, Throwable e) {
+    public void addError(Test test, Throwable e) {
         fErrors.add(new TestFailure(test, e));
         for (TestListener each : cloneListeners()) {
             each.addError(test, e);
@@ -44,7 +57,7 @@ public class TestResult {
      * Adds a failure to the list of failures. The passed in exception
      * caused the failure.
      */
-    public synchronized void addFailure(Test test, AssertionFailedError e) {
+    public void addFailure(Test test, AssertionFailedError e) {
         fFailures.add(new TestFailure(test, e));
         for (TestListener each : cloneListeners()) {
             each.addFailure(test, e);
@@ -54,24 +67,29 @@ public class TestResult {
     /**
      * Registers a TestListener
      */
-    public synchronized void addListener(TestListener listener) {
+    public void addListener(TestListener listener) {
         fListeners.add(listener);
     }
 
     /**
      * Unregisters a TestListener
      */
-    public synchronized void removeListener(TestListener listener) {
+    public void removeListener(TestListener listener) {
         fListeners.remove(listener);
     }
 
     /**
-     * Returns a copy of the listeners.
+     * Returns a snapshot of the listeners. Iterating over a copy-on-write list
+     * already works on a snapshot, so only lists set by subclasses are copied.
      */
-    private synchronized List<TestListener> cloneListeners() {
-        List<TestListener> result = new ArrayList<TestListener>();
-        result.addAll(fListeners);
-        return result;
+    private List<TestListener> cloneListeners() {
+        List<TestListener> listeners = fListeners;
+        if (listeners instanceof CopyOnWriteArrayList) {
+            return listeners;
+        }
+        synchronized (this) {
+            return new ArrayList<TestListener>(listeners);
+        }
     }
 
     /**
@@ -86,14 +104,14 @@ public class TestResult {
     /**
      * Gets the number of detected errors.
      */
-    public synchronized int errorCount() {
+    public int errorCount() {
         return fErrors.size();
     }
 
     /**
      * Returns an Enumeration for the errors
      */
-    public synchronized Enumeration<TestFailure> errors() {
+    public Enumeration<TestFailure> errors() {
         return Collections.enumeration(fErrors);
     }
 
@@ -101,14 +119,14 @@ public class TestResult {
     /**
      * Gets the number of detected failures.
      */
-    public synchronized int failureCount() {
+    public int failureCount() {
         return fFailures.size();
     }
 
     /**
      * Returns an Enumeration for the failures
      */
-    public synchronized Enumeration<TestFailure> failures() {
+    public Enumeration<TestFailure> failures() {
         return Collections.enumeration(fFailures);
     }
 
@@ -130,7 +148,7 @@ public class TestResult {
     /**
      * Gets the number of run tests.
      */
-    public synchronized int runCount() {
+    public int runCount() {
         return fRunTests;
     }
 
@@ -152,7 +170,7 @@ public class TestResult {
     /**
      * Checks whether the test run should stop
      */
-    public synchronized boolean shouldStop() {
+    public boolean shouldStop() {
         return fStop;
     }
 
@@ -160,10 +178,7 @@ public class TestResult {
      * Informs the result that a test will be started.
      */
     public void startTest(Test test) {
-        final int count = test.countTestCases();
-        synchronized (this) {
-            fRunTests += count;
-        }
+        RUN_TESTS.addAndGet(this, test.countTestCases());
         for (TestListener each : cloneListeners()) {
             each.startTest(test);
         }
@@ -172,14 +187,14 @@ public class TestResult {
     /**
      * Marks that the test run should stop.
      */
-    public synchronized void stop() {
+    public void stop() {
         fStop = true;
     }
 
     /**
      * Returns whether the entire test was successful or not.
      */
-    public synchronized boolean wasSuccessful() {
+    public boolean wasSuccessful() {
         return failureCount() == 0 && errorCount() == 0;
     }
 }
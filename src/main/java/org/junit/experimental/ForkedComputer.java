@@ -0,0 +1,83 @@
+package org.junit.experimental;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.internal.runners.ForkedRunner;
+import org.junit.runner.Computer;
+import org.junit.runner.Runner;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.RunnerBuilder;
+
+/**
+ * A {@link Computer} that runs each test class in one of a pool of separate
+ * JVMs, so that static state and leaks of one class cannot affect classes
+ * that run in other JVMs, and classes run in parallel without having to be
+ * thread-safe.
+ *
+ * <p>The worker JVMs use the class path and Java installation of the current
+ * JVM and are reused for many classes: a worker takes the next class as soon
+ * as it has finished the previous one. The results are reported to the
+ * current {@link org.junit.runner.notification.RunNotifier} while the workers
+ * run. If a worker terminates unexpectedly, for example by
+ * {@code System.exit()}, the unfinished tests of its class fail and the
+ * remaining classes run in a new worker.
+ *
+ * <p>The classes are described by runners built with the given
+ * {@link RunnerBuilder} in the current JVM, but the workers always run them
+ * with the default runners of {@link org.junit.runner.Request#aClass(Class)}.
+ *
+ * @since 4.12
+ */
+public class ForkedComputer extends Computer {
+    private final int workers;
+
+    private final List<String> jvmArguments;
+
+    /**
+     * Creates a computer that runs classes in up to {@code workers} JVMs at
+     * the same time.
+     *
+     * @throws IllegalArgumentException if {@code workers} is not positive
+     */
+    public ForkedComputer(int workers) {
+        this(workers, Collections.<String>emptyList());
+    }
+
+    /**
+     * Creates a computer that runs classes in up to {@code workers} JVMs at
+     * the same time, which are started with {@code jvmArguments}.
+     *
+     * @throws IllegalArgumentException if {@code workers} is not positive
+     */
+    public ForkedComputer(int workers, List<String> jvmArguments) {
+        if (workers < 1) {
+            throw new IllegalArgumentException(
+                    "workers must be positive, but was " + workers);
+        }
+        this.workers = workers;
+        this.jvmArguments = new ArrayList<String>(jvmArguments);
+    }
+
+    @Override
+    public Runner getSuite(final RunnerBuilder builder, Class<?>[] classes)
+            throws InitializationError {
+        RunnerBuilder localBuilder = new RunnerBuilder() {
+            @Override
+            public Runner runnerForClass(Class<?> testClass) throws Throwable {
+                return getRunner(builder, testClass);
+            }
+        };
+        Map<Class<?>, Runner> runners = new LinkedHashMap<Class<?>, Runner>();
+        for (Class<?> each : classes) {
+            Runner runner = localBuilder.safeRunnerForClass(each);
+            if (runner != null) {
+                runners.put(each, runner);
+            }
+        }
+        return new ForkedRunner("classes in forked JVMs", runners, workers, jvmArguments);
+    }
+}
@@ -1,24 +1,53 @@
 package org.junit.experimental;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
-
+import org.junit.internal.runners.SharedSchedulerPool;
 import org.junit.runner.Computer;
 import org.junit.runner.Runner;
 import org.junit.runners.ParentRunner;
+import org.junit.runners.Suite;
 import org.junit.runners.model.InitializationError;
 import org.junit.runners.model.RunnerBuilder;
-import org.junit.runners.model.RunnerScheduler;
 
+/**
+ * A {@link Computer} that runs test classes and/or test methods in parallel.
+ *
+ * <p>All the runners of one {@link #getSuite(RunnerBuilder, Class[]) suite}
+ * share a single {@link SharedSchedulerPool}, so a run never uses more than
+ * the configured number of worker threads, and never runs more tests at the
+ * same time, no matter how many classes and methods it contains. The thread
+ * that runs the suite only waits for the workers. If it is interrupted, the
+ * run stops with a {@link org.junit.runner.notification.StoppedByUserException}.
+ */
 public class ParallelComputer extends Computer {
     private final boolean classes;
 
     private final boolean methods;
 
+    private final int parallelism;
+
+    /**
+     * Creates a computer that uses one worker thread per available processor,
+     * but at least two.
+     */
     public ParallelComputer(boolean classes, boolean methods) {
+        this(classes, methods, SharedSchedulerPool.defaultParallelism());
+    }
+
+    /**
+     * Creates a computer that uses at most {@code parallelism} worker threads
+     * for each suite.
+     *
+     * @throws IllegalArgumentException if {@code parallelism} is not positive
+     * @since 4.12
+     */
+    public ParallelComputer(boolean classes, boolean methods, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(
+                    "parallelism must be positive, but was " + parallelism);
+        }
         this.classes = classes;
         this.methods = methods;
+        this.parallelism = parallelism;
     }
 
     public static Computer classes() {
@@ -29,39 +58,24 @@ public class ParallelComputer extends Computer {
         return new ParallelComputer(false, true);
     }
 
-    private static Runner parallelize(Runner runner) {
+    private static Runner parallelize(Runner runner, SharedSchedulerPool pool) {
         if (runner instanceof ParentRunner) {
-            ((ParentRunner<?>) runner).setScheduler(new RunnerScheduler() {
-                private final ExecutorService fService = Executors.newCachedThreadPool();
-
-                public void schedule(Runnable childStatement) {
-                    fService.submit(childStatement);
-                }
-
-                public void finished() {
-                    try {
-                        fService.shutdown();
-                        fService.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
-                    } catch (InterruptedException e) {
-                        e.printStackTrace(System.err);
-                    }
-                }
-            });
+            ((ParentRunner<?>) runner).setScheduler(pool.newScheduler());
         }
         return runner;
     }
 
     @Override
-    public Runner getSuite(RunnerBuilder builder, java.lang.Class<?>[] classes)
+    public Runner getSuite(final RunnerBuilder builder, java.lang.Class<?>[] classes)
             throws InitializationError {
-        Runner suite = super.getSuite(builder, classes);
-        return this.classes ? parallelize(suite) : suite;
-    }
-
-    @Override
-    protected Runner getRunner(RunnerBuilder builder, Class<?> testClass)
-            throws Throwable {
-        Runner runner = super.getRunner(builder, testClass);
-        return methods ? parallelize(runner) : runner;
+        final SharedSchedulerPool pool = new SharedSchedulerPool(parallelism);
+        Runner suite = new Suite(new RunnerBuilder() {
+            @Override
+            public Runner runnerForClass(Class<?> testClass) throws Throwable {
+                Runner runner = getRunner(builder, testClass);
+                return methods ? parallelize(runner, pool) : runner;
+            }
+        }, classes);
+        return this.classes ? parallelize(suite, pool) : suite;
     }
 }
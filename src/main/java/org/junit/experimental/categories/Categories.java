@@ -2,8 +2,14 @@ package org.junit.experimental.categories;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.junit.runner.Description;
@@ -111,10 +117,19 @@ public class Categories extends Suite {
     }
 
     public static class CategoryFilter extends Filter {
+        private static final Class<?>[] NO_CATEGORIES = new Class<?>[0];
+
         private final Set<Class<?>> included;
         private final Set<Class<?>> excluded;
         private final boolean includedAny;
         private final boolean excludedAny;
+        private final List<Class<?>> includedCategories;
+        private final List<Class<?>> excludedCategories;
+
+        // Guarded by suitesToRun, like the caches below
+        private final Map<Description, Boolean> suitesToRun = new IdentityHashMap<Description, Boolean>();
+        private final Map<Class<?>, Class<?>[]> classCategories = new HashMap<Class<?>, Class<?>[]>();
+        private final Map<Class<?>, CategoryMatches> categoryMatches = new HashMap<Class<?>, CategoryMatches>();
 
         public static CategoryFilter include(boolean matchAny, Class<?>... categories) {
             if (hasNull(categories)) {
@@ -157,6 +172,8 @@ public class Categories extends Suite {
             excludedAny = matchAnyExcludes;
             included = copyAndRefine(includes);
             excluded = copyAndRefine(excludes);
+            includedCategories = new ArrayList<Class<?>>(included);
+            excludedCategories = new ArrayList<Class<?>>(excluded);
         }
 
         /**
@@ -191,34 +208,59 @@ public class Categories extends Suite {
 
         @Override
         public boolean shouldRun(Description description) {
-            if (hasCorrectCategoryAnnotation(description)) {
-                return true;
+            synchronized (suitesToRun) {
+                return shouldRunCached(description);
             }
+        }
 
-            for (Description each : description.getChildren()) {
-                if (shouldRun(each)) {
+        /**
+         * Each suite is evaluated once: the result is remembered, so asking
+         * again for a suite, as the runners of its parents and its own runner
+         * do, does not walk its descendants again.
+         */
+        private boolean shouldRunCached(Description description) {
+            if (description.isTest()) {
+                return hasCorrectCategoryAnnotation(description);
+            }
+            Boolean result = suitesToRun.get(description);
+            if (result == null) {
+                result = hasCorrectCategoryAnnotation(description) || anyChildShouldRun(description);
+                suitesToRun.put(description, result);
+            }
+            return result;
+        }
+
+        private boolean anyChildShouldRun(Description description) {
+            for (Description each : description.getChildrenUnmodifiable()) {
+                if (shouldRunCached(each)) {
                     return true;
                 }
             }
-
             return false;
         }
 
         private boolean hasCorrectCategoryAnnotation(Description description) {
-            final Set<Class<?>> childCategories= categories(description);
+            Class<?>[] directCategories = directCategories(description);
+            Class<?> testClass = description.getTestClass();
+            Class<?>[] classCategories = testClass == null ? NO_CATEGORIES : classCategories(testClass);
 
             // If a child has no categories, immediately return.
-            if (childCategories.isEmpty()) {
+            if (directCategories.length == 0 && classCategories.length == 0) {
                 return included.isEmpty();
             }
 
+            BitSet matchedIncluded = new BitSet(includedCategories.size());
+            BitSet matchedExcluded = new BitSet(excludedCategories.size());
+            addMatches(directCategories, matchedIncluded, matchedExcluded);
+            addMatches(classCategories, matchedIncluded, matchedExcluded);
+
             if (!excluded.isEmpty()) {
                 if (excludedAny) {
-                    if (matchesAnyParentCategories(childCategories, excluded)) {
+                    if (!matchedExcluded.isEmpty()) {
                         return false;
                     }
                 } else {
-                    if (matchesAllParentCategories(childCategories, excluded)) {
+                    if (matchedExcluded.cardinality() == excludedCategories.size()) {
                         return false;
                     }
                 }
@@ -229,58 +271,63 @@ public class Categories extends Suite {
                 return true;
             } else {
                 if (includedAny) {
-                    return matchesAnyParentCategories(childCategories, included);
+                    return !matchedIncluded.isEmpty();
                 } else {
-                    return matchesAllParentCategories(childCategories, included);
+                    return matchedIncluded.cardinality() == includedCategories.size();
                 }
             }
         }
 
-        /**
-         * @return <tt>true</tt> if at least one (any) parent category match a child, otherwise <tt>false</tt>.
-         * If empty <tt>parentCategories</tt>, returns <tt>false</tt>.
-         */
-        private boolean matchesAnyParentCategories(Set<Class<?>> childCategories, Set<Class<?>> parentCategories) {
-            for (Class<?> parentCategory : parentCategories) {
-                if (hasAssignableTo(childCategories, parentCategory)) {
-                    return true;
+        private void addMatches(Class<?>[] categories, BitSet matchedIncluded, BitSet matchedExcluded) {
+            for (Class<?> each : categories) {
+                CategoryMatches matches = categoryMatches.get(each);
+                if (matches == null) {
+                    matches = new CategoryMatches(each);
+                    categoryMatches.put(each, matches);
                 }
+                matchedIncluded.or(matches.included);
+                matchedExcluded.or(matches.excluded);
             }
-            return false;
         }
 
-        /**
-         * @return <tt>false</tt> if at least one parent category does not match children, otherwise <tt>true</tt>.
-         * If empty <tt>parentCategories</tt>, returns <tt>true</tt>.
-         */
-        private boolean matchesAllParentCategories(Set<Class<?>> childCategories, Set<Class<?>> parentCategories) {
-            for (Class<?> parentCategory : parentCategories) {
-                if (!hasAssignableTo(childCategories, parentCategory)) {
-                    return false;
-                }
+        private Class<?>[] classCategories(Class<?> testClass) {
+            Class<?>[] result = classCategories.get(testClass);
+            if (result == null) {
+                Category annotation = testClass.getAnnotation(Category.class);
+                result = annotation == null ? NO_CATEGORIES : annotation.value();
+                classCategories.put(testClass, result);
             }
-            return true;
+            return result;
         }
 
-        private static Set<Class<?>> categories(Description description) {
-            Set<Class<?>> categories= new HashSet<Class<?>>();
-            Collections.addAll(categories, directCategories(description));
-            Collections.addAll(categories, directCategories(parentDescription(description)));
-            return categories;
+        private static Class<?>[] directCategories(Description description) {
+            Category annotation= description.getAnnotation(Category.class);
+            return annotation == null ? NO_CATEGORIES : annotation.value();
         }
 
-        private static Description parentDescription(Description description) {
-            Class<?> testClass= description.getTestClass();
-            return testClass == null ? null : Description.createSuiteDescription(testClass);
-        }
+        /**
+         * The included and excluded categories that a category is assignable
+         * to, as bits indexed like {@code includedCategories} and
+         * {@code excludedCategories}.
+         */
+        private class CategoryMatches {
+            final BitSet included;
+            final BitSet excluded;
 
-        private static Class<?>[] directCategories(Description description) {
-            if (description == null) {
-                return new Class<?>[0];
+            CategoryMatches(Class<?> category) {
+                included = assignableTo(category, includedCategories);
+                excluded = assignableTo(category, excludedCategories);
             }
 
-            Category annotation= description.getAnnotation(Category.class);
-            return annotation == null ? new Class<?>[0] : annotation.value();
+            private BitSet assignableTo(Class<?> category, List<Class<?>> categories) {
+                BitSet result = new BitSet(categories.size());
+                for (int i = 0; i < categories.size(); i++) {
+                    if (categories.get(i).isAssignableFrom(category)) {
+                        result.set(i);
+                    }
+                }
+                return result;
+            }
         }
 
         private static Set<Class<?>> copyAndRefine(Set<Class<?>> classes) {
@@ -342,13 +389,13 @@ public class Categories extends Suite {
         if (!canHaveCategorizedChildren(description)) {
             assertNoDescendantsHaveCategoryAnnotations(description);
         }
-        for (Description each : description.getChildren()) {
+        for (Description each : description.getChildrenUnmodifiable()) {
             assertNoCategorizedDescendentsOfUncategorizeableParents(each);
         }
     }
 
     private static void assertNoDescendantsHaveCategoryAnnotations(Description description) throws InitializationError {
-        for (Description each : description.getChildren()) {
+        for (Description each : description.getChildrenUnmodifiable()) {
             if (each.getAnnotation(Category.class) != null) {
                 throw new InitializationError("Category annotations on Parameterized classes are not supported on individual methods.");
             }
@@ -358,7 +405,7 @@ public class Categories extends Suite {
 
     // If children have names like [0], our current magical category code can't determine their parentage.
     private static boolean canHaveCategorizedChildren(Description description) {
-        for (Description each : description.getChildren()) {
+        for (Description each : description.getChildrenUnmodifiable()) {
             if (each.getTestClass() == null) {
                 return false;
             }
@@ -366,15 +413,6 @@ public class Categories extends Suite {
         return true;
     }
 
-    private static boolean hasAssignableTo(Set<Class<?>> assigns, Class<?> to) {
-        for (final Class<?> from : assigns) {
-            if (to.isAssignableFrom(from)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     private static Set<Class<?>> createSet(Class<?>... t) {
         final Set<Class<?>> set= new HashSet<Class<?>>();
         if (t != null) {
@@ -0,0 +1,58 @@
+package org.junit.experimental.filters;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.runner.FilterFactory;
+import org.junit.runner.FilterFactoryParams;
+import org.junit.runner.manipulation.Filter;
+
+/**
+ * {@link FilterFactory} to include the tests listed in a file.
+ *
+ * The file has one test identifier per line, in any of the forms described
+ * in {@link SelectedTestsFilter}. Blank lines and lines starting with
+ * {@code #} are ignored. The file is read as UTF-8.
+ *
+ * Usage from command line:
+ * <code>
+ *     --filter=org.junit.experimental.filters.IncludeTestsFromFile=path/to/tests.txt
+ * </code>
+ *
+ * @since 4.12
+ */
+public final class IncludeTestsFromFile implements FilterFactory {
+    /**
+     * Creates a {@link SelectedTestsFilter} for the tests listed in the file
+     * named by {@code params.getArgs()}.
+     */
+    public Filter createFilter(FilterFactoryParams params) throws FilterNotCreatedException {
+        try {
+            return new SelectedTestsFilter(readIdentifiers(params.getArgs()));
+        } catch (IOException e) {
+            throw new FilterNotCreatedException(e);
+        }
+    }
+
+    private List<String> readIdentifiers(String fileName) throws IOException {
+        List<String> identifiers = new ArrayList<String>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new FileInputStream(fileName), "UTF-8"));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.length() != 0 && !line.startsWith("#")) {
+                    identifiers.add(line);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return identifiers;
+    }
+}
@@ -0,0 +1,133 @@
+package org.junit.experimental.filters;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.runner.Description;
+import org.junit.runner.manipulation.Filter;
+
+/**
+ * A {@link Filter} that runs a selection of tests, given by identifiers of
+ * the following forms:
+ * <ul>
+ * <li>{@code pkg.of.TestClass#method} or {@code method(pkg.of.TestClass)}
+ * selects a single test
+ * <li>{@code pkg.of.TestClass} selects all tests of a class
+ * <li>{@code pkg.of.*} or {@code pkg.of.Prefix*} selects all tests of the
+ * classes whose name starts with the text before the {@code *}
+ * </ul>
+ *
+ * <p>Tests are looked up by hash, so the cost of {@link #shouldRun(Description)}
+ * does not grow with the number of selected tests. Whether a suite contains a
+ * selected test is computed for all of the suite's descendants at once, and
+ * remembered.
+ *
+ * @see IncludeTestsFromFile
+ * @since 4.12
+ */
+public final class SelectedTestsFilter extends Filter {
+    private final Set<String> tests = new HashSet<String>();
+
+    private final Set<String> classes = new HashSet<String>();
+
+    private final Set<String> classNamePrefixes = new HashSet<String>();
+
+    private final int[] prefixLengths;
+
+    private final int identifierCount;
+
+    private final Map<Description, Boolean> suitesWithSelectedTests =
+            new IdentityHashMap<Description, Boolean>();
+
+    /**
+     * Creates a filter that runs the tests selected by {@code identifiers}.
+     *
+     * @throws IllegalArgumentException if an identifier is empty
+     */
+    public SelectedTestsFilter(Collection<String> identifiers) {
+        Set<Integer> lengths = new TreeSet<Integer>();
+        for (String each : identifiers) {
+            String identifier = each.trim();
+            if (identifier.length() == 0) {
+                throw new IllegalArgumentException("A test identifier must not be empty");
+            }
+            int hash = identifier.indexOf('#');
+            if (hash >= 0) {
+                tests.add(identifier.substring(hash + 1) + "(" + identifier.substring(0, hash) + ")");
+            } else if (identifier.endsWith(")")) {
+                tests.add(identifier);
+            } else if (identifier.endsWith("*")) {
+                String prefix = identifier.substring(0, identifier.length() - 1);
+                classNamePrefixes.add(prefix);
+                lengths.add(prefix.length());
+            } else {
+                classes.add(identifier);
+            }
+        }
+        prefixLengths = new int[lengths.size()];
+        int i = 0;
+        for (Integer each : lengths) {
+            prefixLengths[i++] = each;
+        }
+        identifierCount = identifiers.size();
+    }
+
+    @Override
+    public boolean shouldRun(Description description) {
+        if (description.isTest()) {
+            return isSelected(description);
+        }
+        synchronized (suitesWithSelectedTests) {
+            return containsSelectedTest(description);
+        }
+    }
+
+    private boolean containsSelectedTest(Description description) {
+        if (description.isTest()) {
+            return isSelected(description);
+        }
+        Boolean result = suitesWithSelectedTests.get(description);
+        if (result == null) {
+            // Visit all children, so that their results are remembered, too
+            boolean contains = false;
+            for (Description each : description.getChildrenUnmodifiable()) {
+                contains |= containsSelectedTest(each);
+            }
+            result = contains;
+            suitesWithSelectedTests.put(description, result);
+        }
+        return result;
+    }
+
+    private boolean isSelected(Description test) {
+        if (tests.contains(test.getDisplayName())) {
+            return true;
+        }
+        String className = test.getClassName();
+        if (className == null) {
+            return false;
+        }
+        if (classes.contains(className)) {
+            return true;
+        }
+        for (int length : prefixLengths) {
+            if (length > className.length()) {
+                break;
+            }
+            if (classNamePrefixes.contains(className.substring(0, length))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String describe() {
+        return identifierCount == 1 ? "1 selected test identifier"
+                : identifierCount + " selected test identifiers";
+    }
+}
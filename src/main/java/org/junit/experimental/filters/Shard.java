@@ -0,0 +1,52 @@
+package org.junit.experimental.filters;
+
+import java.io.File;
+
+import org.junit.experimental.max.MaxHistory;
+import org.junit.runner.FilterFactory;
+import org.junit.runner.FilterFactoryParams;
+import org.junit.runner.manipulation.Filter;
+
+/**
+ * {@link FilterFactory} to run one of several shards of the tests.
+ *
+ * The argument is the index of the shard, counting from 0, and the number of
+ * shards, optionally followed by the file of a {@link MaxHistory} to balance
+ * the shards by the recorded test durations. See {@link ShardFilter} for how
+ * tests are assigned to shards.
+ *
+ * Usage from command line:
+ * <code>
+ *     --filter=org.junit.experimental.filters.Shard=2/8
+ *     --filter=org.junit.experimental.filters.Shard=2/8:path/to/max-history
+ * </code>
+ *
+ * @since 4.12
+ */
+public final class Shard implements FilterFactory {
+    /**
+     * Creates a {@link ShardFilter} for the shard given by
+     * {@code params.getArgs()}.
+     */
+    public Filter createFilter(FilterFactoryParams params) throws FilterNotCreatedException {
+        String args = params.getArgs();
+        int colon = args.indexOf(':');
+        String shard = colon < 0 ? args : args.substring(0, colon);
+        int slash = shard.indexOf('/');
+        try {
+            if (slash < 0) {
+                throw new IllegalArgumentException("Invalid shard '" + shard
+                        + "'; expected <index>/<total>");
+            }
+            int index = Integer.parseInt(shard.substring(0, slash).trim());
+            int total = Integer.parseInt(shard.substring(slash + 1).trim());
+            if (colon < 0) {
+                return new ShardFilter(index, total);
+            }
+            MaxHistory history = MaxHistory.forFolder(new File(args.substring(colon + 1)));
+            return new ShardFilter(index, total, params.getTopLevelDescription(), history);
+        } catch (IllegalArgumentException e) {
+            throw new FilterNotCreatedException(e);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package org.junit.experimental.filters;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.experimental.max.MaxHistory;
+import org.junit.runner.Description;
+import org.junit.runner.manipulation.Filter;
+
+/**
+ * A {@link Filter} that runs one of several disjoint shards of the tests, so
+ * that a run can be split across several machines or processes. All tests of
+ * a class are put into the same shard, so class fixtures run on a single
+ * shard only.
+ *
+ * <p>By default a class is assigned to a shard by a hash of its name, so the
+ * assignment of a class does not change when other tests are added or
+ * removed. Given the tests of the run and a {@link MaxHistory}, the classes
+ * are instead distributed so that all shards take about the same time: the
+ * longest classes are assigned first, each one to the shard that has the
+ * least work so far. Tests without a recorded duration are assumed to take
+ * the average duration of the recorded ones.
+ *
+ * @see Shard
+ * @since 4.12
+ */
+public final class ShardFilter extends Filter {
+    private final int index;
+
+    private final int total;
+
+    private final Map<String, Integer> assignedShards;
+
+    private final Map<Description, Boolean> suitesInShard =
+            new IdentityHashMap<Description, Boolean>();
+
+    /**
+     * Creates a filter that runs shard {@code index} (counting from 0) of
+     * {@code total} shards, assigning classes to shards by the hash of their
+     * names.
+     *
+     * @throws IllegalArgumentException if {@code index} is not between 0 and
+     * {@code total - 1}
+     */
+    public ShardFilter(int index, int total) {
+        this(index, total, Collections.<String, Integer>emptyMap());
+    }
+
+    /**
+     * Creates a filter that runs shard {@code index} (counting from 0) of
+     * {@code total} shards, distributing the classes of {@code tests} so that
+     * the durations recorded in {@code history} are balanced across the
+     * shards. Classes that are not part of {@code tests} are assigned by the
+     * hash of their names.
+     *
+     * @throws IllegalArgumentException if {@code index} is not between 0 and
+     * {@code total - 1}
+     */
+    public ShardFilter(int index, int total, Description tests, MaxHistory history) {
+        this(index, total, balanceShards(total, tests, history));
+    }
+
+    private ShardFilter(int index, int total, Map<String, Integer> assignedShards) {
+        if (total < 1 || index < 0 || index >= total) {
+            throw new IllegalArgumentException("Invalid shard " + index + " of "
+                    + total + " shards; the index must be between 0 and "
+                    + (total - 1));
+        }
+        this.index = index;
+        this.total = total;
+        this.assignedShards = assignedShards;
+    }
+
+    @Override
+    public boolean shouldRun(Description description) {
+        if (description.isTest()) {
+            return isInShard(description);
+        }
+        synchronized (suitesInShard) {
+            return containsTestInShard(description);
+        }
+    }
+
+    private boolean containsTestInShard(Description description) {
+        if (description.isTest()) {
+            return isInShard(description);
+        }
+        Boolean result = suitesInShard.get(description);
+        if (result == null) {
+            // Visit all children, so that their results are remembered, too
+            boolean contains = false;
+            for (Description each : description.getChildrenUnmodifiable()) {
+                contains |= containsTestInShard(each);
+            }
+            result = contains;
+            suitesInShard.put(description, result);
+        }
+        return result;
+    }
+
+    private boolean isInShard(Description test) {
+        String key = shardKey(test);
+        Integer shard = assignedShards.get(key);
+        return (shard != null ? shard : hashShard(key, total)) == index;
+    }
+
+    private static String shardKey(Description test) {
+        String className = test.getClassName();
+        return className != null ? className : test.getDisplayName();
+    }
+
+    /**
+     * Returns a shard for {@code key} that depends only on {@code key} and
+     * {@code total}, in every JVM.
+     */
+    private static int hashShard(String key, int total) {
+        // Spread the bits of String.hashCode(), which is specified by the JLS
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return (hash & Integer.MAX_VALUE) % total;
+    }
+
+    private static Map<String, Integer> balanceShards(int total, Description tests,
+            MaxHistory history) {
+        final Map<String, Long> classDurations = new LinkedHashMap<String, Long>();
+        List<Description> unknownTests = new ArrayList<Description>();
+        long knownDuration = 0;
+        int knownTests = 0;
+        for (Description each : leaves(tests)) {
+            String key = shardKey(each);
+            Long duration = history.getTestDuration(each);
+            if (duration == null) {
+                unknownTests.add(each);
+                duration = 0L;
+            } else {
+                knownDuration += duration;
+                knownTests++;
+            }
+            Long classDuration = classDurations.get(key);
+            classDurations.put(key, (classDuration == null ? 0 : classDuration) + duration);
+        }
+        long averageDuration = knownTests == 0 ? 1 : Math.max(1, knownDuration / knownTests);
+        for (Description each : unknownTests) {
+            String key = shardKey(each);
+            classDurations.put(key, classDurations.get(key) + averageDuration);
+        }
+
+        List<String> classes = new ArrayList<String>(classDurations.keySet());
+        Collections.sort(classes, new Comparator<String>() {
+            public int compare(String o1, String o2) {
+                int result = classDurations.get(o2).compareTo(classDurations.get(o1));
+                return result != 0 ? result : o1.compareTo(o2);
+            }
+        });
+        long[] shardDurations = new long[Math.max(total, 1)];
+        Map<String, Integer> assignedShards = new HashMap<String, Integer>();
+        for (String each : classes) {
+            int shard = 0;
+            for (int i = 1; i < shardDurations.length; i++) {
+                if (shardDurations[i] < shardDurations[shard]) {
+                    shard = i;
+                }
+            }
+            shardDurations[shard] += classDurations.get(each);
+            assignedShards.put(each, shard);
+        }
+        return assignedShards;
+    }
+
+    private static List<Description> leaves(Description description) {
+        List<Description> leaves = new ArrayList<Description>();
+        List<Description> pending = new ArrayList<Description>();
+        pending.add(description);
+        while (!pending.isEmpty()) {
+            Description each = pending.remove(pending.size() - 1);
+            if (each.isTest()) {
+                leaves.add(each);
+            } else {
+                pending.addAll(each.getChildrenUnmodifiable());
+            }
+        }
+        return leaves;
+    }
+
+    @Override
+    public String describe() {
+        return "shard " + index + " of " + total;
+    }
+}
@@ -3,7 +3,12 @@ package org.junit.experimental.max;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import junit.framework.TestSuite;
 import org.junit.internal.requests.SortingRequest;
@@ -14,6 +19,11 @@ import org.junit.runner.JUnitCore;
 import org.junit.runner.Request;
 import org.junit.runner.Result;
 import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.Filterable;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.manipulation.Sortable;
+import org.junit.runner.manipulation.Sorter;
 import org.junit.runners.Suite;
 import org.junit.runners.model.InitializationError;
 
@@ -104,8 +114,28 @@ public class MaxCore {
 
     private Request constructLeafRequest(List<Description> leaves) {
         final List<Runner> runners = new ArrayList<Runner>();
+        List<Description> group = new ArrayList<Description>();
+        Set<Description> groupMembers = new HashSet<Description>();
+        Class<?> groupClass = null;
         for (Description each : leaves) {
-            runners.add(buildRunner(each));
+            Class<?> type = groupableClass(each);
+            if (type == null || type != groupClass || groupMembers.contains(each)) {
+                if (!group.isEmpty()) {
+                    addGroupRunners(runners, groupClass, group);
+                    group = new ArrayList<Description>();
+                    groupMembers.clear();
+                }
+                groupClass = type;
+            }
+            if (type == null) {
+                runners.add(buildRunner(each));
+            } else {
+                group.add(each);
+                groupMembers.add(each);
+            }
+        }
+        if (!group.isEmpty()) {
+            addGroupRunners(runners, groupClass, group);
         }
         return new Request() {
             @Override
@@ -120,6 +150,112 @@ public class MaxCore {
         };
     }
 
+    /**
+     * Returns the class of the test method described by {@code each}, or
+     * {@code null} if the leaf has to be run on its own.
+     */
+    private Class<?> groupableClass(Description each) {
+        if (each.getMethodName() == null
+                || each.toString().startsWith(MALFORMED_JUNIT_3_TEST_CLASS_PREFIX)) {
+            return null;
+        }
+        return each.getTestClass();
+    }
+
+    /**
+     * Adds a runner for {@code group}, or one runner per test of the group if
+     * the runner of {@code type} cannot be narrowed down to exactly the tests
+     * of the group in their order.
+     */
+    private void addGroupRunners(List<Runner> runners, Class<?> type, List<Description> group) {
+        Runner groupRunner = buildGroupRunner(type, group);
+        if (groupRunner != null) {
+            runners.add(groupRunner);
+        } else {
+            for (Description each : group) {
+                runners.add(buildRunner(each));
+            }
+        }
+    }
+
+    /**
+     * Builds a single runner for a contiguous group of distinct test methods
+     * of {@code type}, which runs them in the order of {@code group}. The
+     * class-level fixtures of {@code type} run once for the whole group.
+     * Returns {@code null} if the runner of {@code type} cannot be filtered or
+     * sorted, or if its tests do not match the tests of the group.
+     */
+    private Runner buildGroupRunner(Class<?> type, List<Description> group) {
+        final Map<Description, Integer> positions = new HashMap<Description, Integer>();
+        for (Description each : group) {
+            positions.put(each, positions.size());
+        }
+        Filter inGroup = new Filter() {
+            @Override
+            public boolean shouldRun(Description description) {
+                if (description.isTest()) {
+                    return positions.containsKey(description);
+                }
+                for (Description each : description.getChildrenUnmodifiable()) {
+                    if (shouldRun(each)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public String describe() {
+                return positions.size() + " reordered tests";
+            }
+        };
+        Comparator<Description> inGroupOrder = new Comparator<Description>() {
+            public int compare(Description o1, Description o2) {
+                return position(o1).compareTo(position(o2));
+            }
+
+            private Integer position(Description description) {
+                Integer result = positions.get(description);
+                if (result != null) {
+                    return result;
+                }
+                result = Integer.MAX_VALUE;
+                for (Description each : description.getChildrenUnmodifiable()) {
+                    Integer childPosition = position(each);
+                    if (childPosition < result) {
+                        result = childPosition;
+                    }
+                }
+                return result;
+            }
+        };
+        Runner runner = Request.aClass(type).getRunner();
+        if (!(runner instanceof Filterable) || !(runner instanceof Sortable)) {
+            return null;
+        }
+        try {
+            inGroup.apply(runner);
+        } catch (NoTestsRemainException e) {
+            return null;
+        }
+        List<Description> remaining = new ArrayList<Description>();
+        findTests(runner.getDescription(), remaining);
+        if (remaining.size() != group.size() || !positions.keySet().containsAll(remaining)) {
+            return null;
+        }
+        new Sorter(inGroupOrder).apply(runner);
+        return runner;
+    }
+
+    private static void findTests(Description description, List<Description> tests) {
+        if (description.isTest()) {
+            tests.add(description);
+        }
+        for (Description each : description.getChildrenUnmodifiable()) {
+            findTests(each, tests);
+        }
+    }
+
     private Runner buildRunner(Description each) {
         if (each.toString().equals("TestSuite with 0 tests")) {
             return Suite.emptySuite();
@@ -166,14 +302,14 @@ public class MaxCore {
     }
 
     private void findLeaves(Description parent, Description description, List<Description> results) {
-        if (description.getChildren().isEmpty()) {
+        if (description.getChildrenUnmodifiable().isEmpty()) {
             if (description.toString().equals("warning(junit.framework.TestSuite$1)")) {
                 results.add(Description.createSuiteDescription(MALFORMED_JUNIT_3_TEST_CLASS_PREFIX + parent));
             } else {
                 results.add(description);
             }
         } else {
-            for (Description each : description.getChildren()) {
+            for (Description each : description.getChildrenUnmodifiable()) {
                 findLeaves(description, each, results);
             }
         }
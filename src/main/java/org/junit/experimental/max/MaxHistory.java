@@ -1,15 +1,23 @@
 package org.junit.experimental.max;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
 
 import org.junit.runner.Description;
 import org.junit.runner.Result;
@@ -26,9 +34,33 @@ import org.junit.runner.notification.RunListener;
 public class MaxHistory implements Serializable {
     private static final long serialVersionUID = 1L;
 
+    private static final int LOG_MAGIC = 0x4A4D4158; // "JMAX"
+
+    private static final int LOG_VERSION = 1;
+
+    private static final byte DURATION_RECORD = 1;
+
+    private static final byte FAILURE_RECORD = 2;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int MAX_KEY_LENGTH = 1024 * 1024;
+
+    /**
+     * The log is rewritten once it holds this many records more than twice
+     * the number of live entries.
+     */
+    private static final int COMPACTION_SLACK = 1024;
+
     /**
      * Loads a {@link MaxHistory} from {@code file}, or generates a new one that
      * will be saved to {@code file}.
+     *
+     * <p>The history is kept in a binary log that each run only appends the
+     * tests it touched to. A log that ends in an incomplete record, for
+     * example because a run was killed while saving, is read up to the last
+     * complete record. Histories written by earlier versions with Java
+     * serialization are still read, and are converted on the next save.
      */
     public static MaxHistory forFolder(File file) {
         if (file.exists()) {
@@ -36,7 +68,6 @@ public class MaxHistory implements Serializable {
                 return readHistory(file);
             } catch (CouldNotReadCoreException e) {
                 e.printStackTrace();
-                file.delete();
             }
         }
         return new MaxHistory(file);
@@ -45,22 +76,39 @@ public class MaxHistory implements Serializable {
     private static MaxHistory readHistory(File storedResults)
             throws CouldNotReadCoreException {
         try {
-            FileInputStream file = new FileInputStream(storedResults);
+            DataInputStream stream = new DataInputStream(new BufferedInputStream(
+                    new FileInputStream(storedResults), BUFFER_SIZE));
             try {
-                ObjectInputStream stream = new ObjectInputStream(file);
-                try {
-                    return (MaxHistory) stream.readObject();
-                } finally {
-                    stream.close();
+                stream.mark(4);
+                int magic = stream.readInt();
+                if (magic != LOG_MAGIC) {
+                    stream.reset();
+                    return readSerializedHistory(stream);
+                }
+                int version = stream.readInt();
+                if (version != LOG_VERSION) {
+                    throw new IOException("Unsupported history version " + version);
                 }
+                MaxHistory history = new MaxHistory(storedResults);
+                history.readLog(stream);
+                history.logLength = storedResults.length();
+                return history;
             } finally {
-                file.close();
+                stream.close();
             }
         } catch (Exception e) {
             throw new CouldNotReadCoreException(e);
         }
     }
 
+    private static MaxHistory readSerializedHistory(InputStream file)
+            throws IOException, ClassNotFoundException {
+        ObjectInputStream stream = new ObjectInputStream(file);
+        MaxHistory history = (MaxHistory) stream.readObject();
+        history.initializeLog(false, 0);
+        return history;
+    }
+
     /*
      * We have to use the f prefix until the next major release to ensure
      * serialization compatibility. 
@@ -70,15 +118,200 @@ public class MaxHistory implements Serializable {
     private final Map<String, Long> fFailureTimestamps = new HashMap<String, Long>();
     private final File fHistoryStore;
 
+    // Tests whose entries changed since the last save
+    private transient Set<String> changedTests;
+
+    // Whether new records can be appended to the existing log
+    private transient boolean appendable;
+
+    private transient int logRecords;
+
+    // The length of the log after it was last read or written
+    private transient long logLength;
+
     private MaxHistory(File storedResults) {
         fHistoryStore = storedResults;
+        initializeLog(false, 0);
+    }
+
+    private void initializeLog(boolean appendable, int logRecords) {
+        this.changedTests = new LinkedHashSet<String>();
+        this.appendable = appendable;
+        this.logRecords = logRecords;
+    }
+
+    /**
+     * Reads the records of the log. Reading stops at the first incomplete or
+     * corrupt record; the log is then rewritten by the next save, instead of
+     * being appended to.
+     */
+    private void readLog(DataInputStream stream) throws IOException {
+        // Shares one String between the duration and failure entries of a test
+        Map<String, String> keys = new HashMap<String, String>();
+        CRC32 checksum = new CRC32();
+        int records = 0;
+        boolean complete = true;
+        while (true) {
+            int type = stream.read();
+            if (type == -1) {
+                break;
+            }
+            try {
+                int length = stream.readInt();
+                if (length < 0 || length > MAX_KEY_LENGTH) {
+                    complete = false;
+                    break;
+                }
+                byte[] key = new byte[length];
+                stream.readFully(key);
+                long value = stream.readLong();
+                int expected = stream.readInt();
+                if (expected != checksum(checksum, (byte) type, key, value)) {
+                    complete = false;
+                    break;
+                }
+                String test = new String(key, "UTF-8");
+                String interned = keys.get(test);
+                if (interned == null) {
+                    keys.put(test, test);
+                    interned = test;
+                }
+                if (type == DURATION_RECORD) {
+                    fDurations.put(interned, value);
+                } else if (type == FAILURE_RECORD) {
+                    fFailureTimestamps.put(interned, value);
+                } else {
+                    complete = false;
+                    break;
+                }
+                records++;
+            } catch (EOFException e) {
+                complete = false;
+                break;
+            }
+        }
+        initializeLog(complete, records);
     }
 
     private void save() throws IOException {
-        ObjectOutputStream stream = new ObjectOutputStream(new FileOutputStream(
-                fHistoryStore));
-        stream.writeObject(this);
-        stream.close();
+        int liveRecords = fDurations.size() + fFailureTimestamps.size();
+        // A log that was deleted or replaced by someone else is rewritten,
+        // so that the records are never appended to a file without a header
+        if (appendable && logRecords <= 2 * liveRecords + COMPACTION_SLACK
+                && fHistoryStore.length() == logLength) {
+            append();
+        } else {
+            checkpoint();
+        }
+        changedTests.clear();
+    }
+
+    /**
+     * Appends the entries of the tests that changed since the last save.
+     */
+    private void append() throws IOException {
+        FileOutputStream file = new FileOutputStream(fHistoryStore, true);
+        try {
+            DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(file, BUFFER_SIZE));
+            CRC32 checksum = new CRC32();
+            for (String each : changedTests) {
+                logRecords += writeEntries(stream, checksum, each);
+            }
+            stream.flush();
+            file.getFD().sync();
+            logLength = file.getChannel().size();
+        } finally {
+            file.close();
+        }
+    }
+
+    /**
+     * Writes all entries to a new log next to the history store, and then
+     * replaces the history store with it, so that a failed checkpoint leaves
+     * the previous log untouched.
+     */
+    private void checkpoint() throws IOException {
+        File parent = fHistoryStore.getAbsoluteFile().getParentFile();
+        File temporary = new File(parent, fHistoryStore.getName() + ".tmp");
+        int records = 0;
+        FileOutputStream file = new FileOutputStream(temporary);
+        try {
+            DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(file, BUFFER_SIZE));
+            stream.writeInt(LOG_MAGIC);
+            stream.writeInt(LOG_VERSION);
+            CRC32 checksum = new CRC32();
+            Set<String> tests = new LinkedHashSet<String>(fDurations.keySet());
+            tests.addAll(fFailureTimestamps.keySet());
+            for (String each : tests) {
+                records += writeEntries(stream, checksum, each);
+            }
+            stream.flush();
+            file.getFD().sync();
+        } finally {
+            file.close();
+        }
+        long length = temporary.length();
+        if (!temporary.renameTo(fHistoryStore)) {
+            replaceByRenaming(temporary, parent);
+        }
+        appendable = true;
+        logRecords = records;
+        logLength = length;
+    }
+
+    /**
+     * Replaces the history store with {@code temporary} on platforms that do
+     * not rename over an existing file. The previous log is moved aside
+     * instead of being deleted, and is moved back if the new log cannot take
+     * its place.
+     */
+    private void replaceByRenaming(File temporary, File parent) throws IOException {
+        File previous = new File(parent, fHistoryStore.getName() + ".old");
+        previous.delete();
+        if (!fHistoryStore.renameTo(previous)) {
+            throw new IOException("Could not rename " + fHistoryStore + " to " + previous);
+        }
+        if (!temporary.renameTo(fHistoryStore)) {
+            previous.renameTo(fHistoryStore);
+            throw new IOException("Could not rename " + temporary + " to " + fHistoryStore);
+        }
+        previous.delete();
+    }
+
+    private int writeEntries(DataOutputStream stream, CRC32 checksum, String test)
+            throws IOException {
+        byte[] key = test.getBytes("UTF-8");
+        int records = 0;
+        Long duration = fDurations.get(test);
+        if (duration != null) {
+            writeRecord(stream, checksum, DURATION_RECORD, key, duration);
+            records++;
+        }
+        Long failure = fFailureTimestamps.get(test);
+        if (failure != null) {
+            writeRecord(stream, checksum, FAILURE_RECORD, key, failure);
+            records++;
+        }
+        return records;
+    }
+
+    private static void writeRecord(DataOutputStream stream, CRC32 checksum, byte type,
+            byte[] key, long value) throws IOException {
+        stream.writeByte(type);
+        stream.writeInt(key.length);
+        stream.write(key);
+        stream.writeLong(value);
+        stream.writeInt(checksum(checksum, type, key, value));
+    }
+
+    private static int checksum(CRC32 checksum, byte type, byte[] key, long value) {
+        checksum.reset();
+        checksum.update(type);
+        checksum.update(key);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            checksum.update((int) (value >>> shift));
+        }
+        return (int) checksum.getValue();
     }
 
     Long getFailureTimestamp(Description key) {
@@ -86,19 +319,29 @@ public class MaxHistory implements Serializable {
     }
 
     void putTestFailureTimestamp(Description key, long end) {
-        fFailureTimestamps.put(key.toString(), end);
+        String test = key.toString();
+        fFailureTimestamps.put(test, end);
+        changedTests.add(test);
     }
 
     boolean isNewTest(Description key) {
         return !fDurations.containsKey(key.toString());
     }
 
-    Long getTestDuration(Description key) {
+    /**
+     * @return the duration of the last run of the test described by
+     *         {@code key} in milliseconds, or {@code null} if the test has
+     *         not been run
+     * @since 4.12
+     */
+    public Long getTestDuration(Description key) {
         return fDurations.get(key.toString());
     }
 
     void putTestDuration(Description description, long duration) {
-        fDurations.put(description.toString(), duration);
+        String test = description.toString();
+        fDurations.put(test, duration);
+        changedTests.add(test);
     }
 
     private final class RememberingListener extends RunListener {
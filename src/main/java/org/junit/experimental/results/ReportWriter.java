@@ -0,0 +1,176 @@
+package org.junit.experimental.results;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Writes text records to a file as UTF-8 on a background thread.
+ *
+ * <p>Records are handed over through a bounded queue, turned into text by
+ * calling their {@code toString()} method on the writer thread, and encoded
+ * into a large direct buffer, which is written to the file whenever it is full or the
+ * queue is empty. Threads that write records therefore only wait for the
+ * file if the writer thread has fallen {@link #QUEUE_CAPACITY} records
+ * behind, and the memory used does not depend on the number of records.
+ */
+final class ReportWriter {
+    private static final int QUEUE_CAPACITY = 4096;
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    private static final Object END_OF_RECORDS = new Object();
+
+    private final BlockingQueue<Object> records = new ArrayBlockingQueue<Object>(QUEUE_CAPACITY);
+
+    private final FileChannel channel;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    private final CharsetEncoder encoder = Charset.forName("UTF-8").newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    private final Thread writer;
+
+    private volatile IOException failure;
+
+    ReportWriter(File file) throws IOException {
+        channel = new FileOutputStream(file).getChannel();
+        writer = new Thread(new Runnable() {
+            public void run() {
+                writeRecords();
+            }
+        }, "ReportWriter-" + file.getName());
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queues {@code record} to be written, waiting only if the queue is full.
+     * The text of the record is only built when it is written.
+     */
+    void write(Object record) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                records.put(record);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits until all queued records have been written to the file.
+     *
+     * @throws IOException if a record could not be written
+     */
+    void finish() throws IOException {
+        write(END_OF_RECORDS);
+        boolean interrupted = false;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Overwrites the bytes at {@code position} with {@code text}. Must only be
+     * called after {@link #finish()}.
+     */
+    void writeAt(long position, String text) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(text.getBytes("UTF-8"));
+        while (bytes.hasRemaining()) {
+            position += channel.write(bytes, position);
+        }
+    }
+
+    void close() throws IOException {
+        channel.close();
+    }
+
+    private void writeRecords() {
+        while (true) {
+            Object record = records.poll();
+            try {
+                if (record == null) {
+                    // Nothing else to do, so write what has been encoded so far
+                    flush();
+                    record = takeRecord();
+                }
+                if (record == END_OF_RECORDS) {
+                    flush();
+                    return;
+                }
+                encode(record);
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = new IOException("Cannot write record: " + e);
+                    failure.initCause(e);
+                }
+            } catch (IOException e) {
+                // Keep taking records, so that nobody waits for a full queue
+                if (failure == null) {
+                    failure = e;
+                }
+                if (record == END_OF_RECORDS) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private Object takeRecord() {
+        while (true) {
+            try {
+                return records.take();
+            } catch (InterruptedException e) {
+                // Only the end of the records stops the writer
+            }
+        }
+    }
+
+    private void encode(Object record) throws IOException {
+        if (failure != null) {
+            return;
+        }
+        CharBuffer chars = CharBuffer.wrap(record.toString());
+        while (encoder.encode(chars, buffer, false) == CoderResult.OVERFLOW) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        if (failure != null) {
+            return;
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,405 @@
+package org.junit.experimental.results;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.runner.Description;
+import org.junit.runner.Result;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+
+/**
+ * A {@link RunListener} that writes a machine-readable report of a run to a
+ * file while the run is going on.
+ *
+ * <p>A record is written for each test as soon as it has finished, so the
+ * report does not have to be kept in memory until the end of the run. The
+ * records are written by a background thread with a bounded queue, so tests
+ * do not wait for the file unless the writer falls far behind. Stack traces
+ * are formatted by the background thread, too. The report is complete when
+ * {@link #testRunFinished(Result)} returns.
+ *
+ * <p>A test that fails several times, for example in the test and in an
+ * {@code @After} method, is written with all its failures, and each of them
+ * is counted. Failures and assumption failures outside of a test, for example
+ * of a {@code @BeforeClass} method, are written as test cases of their own.
+ *
+ * <p>Two formats are supported:
+ * <ul>
+ * <li>{@link #xml(File)} writes the XML format of the Ant JUnit task, which
+ * most build and CI tools can read</li>
+ * <li>{@link #jsonLines(File)} writes one JSON object per line</li>
+ * </ul>
+ *
+ * <pre>
+ * JUnitCore core = new JUnitCore();
+ * core.addListener(StreamingReportListener.xml(new File("TEST-all.xml")));
+ * core.run(MyTest.class);
+ * </pre>
+ *
+ * @since 4.12
+ */
+@RunListener.ThreadSafe
+public final class StreamingReportListener extends RunListener {
+    /**
+     * Creates a listener that writes a JUnit XML report to {@code file}.
+     */
+    public static StreamingReportListener xml(File file) throws IOException {
+        return new StreamingReportListener(new ReportWriter(file), new XmlFormat());
+    }
+
+    /**
+     * Creates a listener that writes a report with one JSON object per line
+     * to {@code file}.
+     */
+    public static StreamingReportListener jsonLines(File file) throws IOException {
+        return new StreamingReportListener(new ReportWriter(file), new JsonLinesFormat());
+    }
+
+    private final ReportWriter writer;
+
+    private final Format format;
+
+    private final ConcurrentMap<Description, RunningTest> runningTests =
+            new ConcurrentHashMap<Description, RunningTest>();
+
+    private final AtomicInteger tests = new AtomicInteger();
+
+    private final AtomicInteger failures = new AtomicInteger();
+
+    private final AtomicInteger errors = new AtomicInteger();
+
+    private final AtomicInteger skipped = new AtomicInteger();
+
+    private StreamingReportListener(ReportWriter writer, Format format) {
+        this.writer = writer;
+        this.format = format;
+    }
+
+    @Override
+    public void testRunStarted(Description description) throws Exception {
+        writer.write(format.header(description.getDisplayName()));
+    }
+
+    @Override
+    public void testRunFinished(Result result) throws Exception {
+        try {
+            writer.write(format.footer(tests.get(), failures.get(), errors.get(),
+                    skipped.get(), result.getRunTime()));
+            writer.finish();
+            format.completeHeader(writer, tests.get(), failures.get(), errors.get(),
+                    skipped.get(), result.getRunTime());
+        } finally {
+            writer.close();
+        }
+    }
+
+    @Override
+    public void testStarted(Description description) {
+        runningTests.put(description, new RunningTest());
+    }
+
+    @Override
+    public void testFailure(Failure failure) {
+        RunningTest test = runningTests.get(failure.getDescription());
+        if (test != null) {
+            test.addFailure(failure);
+        } else {
+            // A failure outside of a test, for example of a @BeforeClass method
+            writeTestCase(failure.getDescription(), 0,
+                    Collections.singletonList(failure), false);
+        }
+    }
+
+    @Override
+    public void testAssumptionFailure(Failure failure) {
+        RunningTest test = runningTests.get(failure.getDescription());
+        if (test != null) {
+            test.skipped = true;
+        } else {
+            // An assumption failure outside of a test, for example of a
+            // @BeforeClass method
+            writeTestCase(failure.getDescription(), 0, Collections.<Failure>emptyList(), true);
+        }
+    }
+
+    @Override
+    public void testIgnored(Description description) {
+        writeTestCase(description, 0, Collections.<Failure>emptyList(), true);
+    }
+
+    @Override
+    public void testFinished(Description description) {
+        RunningTest test = runningTests.remove(description);
+        if (test != null) {
+            long millis = (System.nanoTime() - test.startNanos) / 1000000;
+            writeTestCase(description, millis, test.getFailures(), test.skipped);
+        }
+    }
+
+    private void writeTestCase(final Description description, final long millis,
+            final List<Failure> failuresOfTest, boolean skip) {
+        tests.incrementAndGet();
+        final String status;
+        if (!failuresOfTest.isEmpty()) {
+            for (Failure each : failuresOfTest) {
+                (isAssertion(each) ? failures : errors).incrementAndGet();
+            }
+            status = isAssertion(failuresOfTest.get(0)) ? "failure" : "error";
+        } else if (skip) {
+            skipped.incrementAndGet();
+            status = "skipped";
+        } else {
+            status = "passed";
+        }
+        // The record is turned into text by the writer thread
+        writer.write(new Object() {
+            @Override
+            public String toString() {
+                String className = description.getClassName();
+                String name = description.getMethodName();
+                return format.testCase(className == null ? "" : className,
+                        name == null ? description.getDisplayName() : name, millis, status,
+                        failuresOfTest);
+            }
+        });
+    }
+
+    private static boolean isAssertion(Failure failure) {
+        return failure.getException() instanceof AssertionError;
+    }
+
+    private static String status(Failure failure) {
+        return isAssertion(failure) ? "failure" : "error";
+    }
+
+    private static String trace(Throwable exception) {
+        StringWriter trace = new StringWriter();
+        exception.printStackTrace(new PrintWriter(trace));
+        return trace.toString();
+    }
+
+    private static String seconds(long millis) {
+        String fraction = Long.toString(1000 + millis % 1000).substring(1);
+        return millis / 1000 + "." + fraction;
+    }
+
+    private static final class RunningTest {
+        final long startNanos = System.nanoTime();
+
+        // Guarded by this
+        private List<Failure> failures = Collections.emptyList();
+
+        volatile boolean skipped;
+
+        synchronized void addFailure(Failure failure) {
+            if (failures.isEmpty()) {
+                failures = new ArrayList<Failure>(1);
+            }
+            failures.add(failure);
+        }
+
+        synchronized List<Failure> getFailures() {
+            // A copy, because a failure may still be added while it is written
+            return failures.isEmpty() ? failures : new ArrayList<Failure>(failures);
+        }
+    }
+
+    private abstract static class Format {
+        abstract String header(String name) throws UnsupportedEncodingException;
+
+        abstract String testCase(String className, String name, long millis, String status,
+                List<Failure> failures);
+
+        abstract String footer(int tests, int failures, int errors, int skipped,
+                long runTime);
+
+        void completeHeader(ReportWriter writer, int tests, int failures, int errors,
+                int skipped, long runTime) throws IOException {
+        }
+    }
+
+    /**
+     * The XML format of the Ant JUnit task. The counts of the run belong into
+     * the attributes of the root element, but are only known at the end, so
+     * the header reserves white space for them that is overwritten at the end.
+     */
+    private static final class XmlFormat extends Format {
+        private static final int RESERVED_SPACE = 160;
+
+        private volatile long reservedPosition = -1;
+
+        @Override
+        String header(String name) throws UnsupportedEncodingException {
+            String start = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                    + "<testsuite name=\"" + escape(name) + "\"";
+            reservedPosition = start.getBytes("UTF-8").length;
+            StringBuilder header = new StringBuilder(start);
+            for (int i = 0; i < RESERVED_SPACE; i++) {
+                header.append(' ');
+            }
+            return header.append(">\n").toString();
+        }
+
+        @Override
+        String testCase(String className, String name, long millis, String status,
+                List<Failure> failures) {
+            StringBuilder testCase = new StringBuilder(128);
+            testCase.append("  <testcase classname=\"").append(escape(className))
+                    .append("\" name=\"").append(escape(name))
+                    .append("\" time=\"").append(seconds(millis)).append('"');
+            if (!failures.isEmpty()) {
+                testCase.append(">\n");
+                for (Failure each : failures) {
+                    Throwable exception = each.getException();
+                    String element = status(each);
+                    testCase.append("    <").append(element).append(" message=\"")
+                            .append(escape(String.valueOf(exception.getMessage())))
+                            .append("\" type=\"").append(exception.getClass().getName())
+                            .append("\">").append(escape(trace(exception))).append("</")
+                            .append(element).append(">\n");
+                }
+                testCase.append("  </testcase>\n");
+            } else if (status.equals("skipped")) {
+                testCase.append(">\n    <skipped/>\n  </testcase>\n");
+            } else {
+                testCase.append("/>\n");
+            }
+            return testCase.toString();
+        }
+
+        @Override
+        String footer(int tests, int failures, int errors, int skipped, long runTime) {
+            return "</testsuite>\n";
+        }
+
+        @Override
+        void completeHeader(ReportWriter writer, int tests, int failures, int errors,
+                int skipped, long runTime) throws IOException {
+            if (reservedPosition >= 0) {
+                writer.writeAt(reservedPosition, " tests=\"" + tests + "\" failures=\""
+                        + failures + "\" errors=\"" + errors + "\" skipped=\"" + skipped
+                        + "\" time=\"" + seconds(runTime) + "\"");
+            }
+        }
+
+        private static String escape(String text) {
+            StringBuilder escaped = new StringBuilder(text.length());
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '&':
+                        escaped.append("&amp;");
+                        break;
+                    case '<':
+                        escaped.append("&lt;");
+                        break;
+                    case '>':
+                        escaped.append("&gt;");
+                        break;
+                    case '"':
+                        escaped.append("&quot;");
+                        break;
+                    case '\t':
+                    case '\n':
+                    case '\r':
+                        escaped.append(c);
+                        break;
+                    default:
+                        // Other control characters are not allowed in XML 1.0
+                        escaped.append(c < ' ' ? '?' : c);
+                }
+            }
+            return escaped.toString();
+        }
+    }
+
+    private static final class JsonLinesFormat extends Format {
+        @Override
+        String header(String name) {
+            return "{\"event\":\"runStarted\",\"name\":" + quote(name) + "}\n";
+        }
+
+        @Override
+        String testCase(String className, String name, long millis, String status,
+                List<Failure> failures) {
+            StringBuilder testCase = new StringBuilder(128);
+            testCase.append("{\"event\":\"test\",\"class\":").append(quote(className))
+                    .append(",\"name\":").append(quote(name))
+                    .append(",\"status\":\"").append(status)
+                    .append("\",\"time\":").append(seconds(millis));
+            if (!failures.isEmpty()) {
+                // The first failure is written inline, any others in a list
+                appendFailure(testCase.append(','), failures.get(0));
+                if (failures.size() > 1) {
+                    testCase.append(",\"moreFailures\":[");
+                    for (int i = 1; i < failures.size(); i++) {
+                        if (i > 1) {
+                            testCase.append(',');
+                        }
+                        appendFailure(testCase.append("{\"status\":\"")
+                                .append(status(failures.get(i))).append("\","), failures.get(i))
+                                .append('}');
+                    }
+                    testCase.append(']');
+                }
+            }
+            return testCase.append("}\n").toString();
+        }
+
+        private static StringBuilder appendFailure(StringBuilder json, Failure failure) {
+            Throwable exception = failure.getException();
+            return json.append("\"type\":").append(quote(exception.getClass().getName()))
+                    .append(",\"message\":").append(quote(String.valueOf(exception.getMessage())))
+                    .append(",\"trace\":").append(quote(trace(exception)));
+        }
+
+        @Override
+        String footer(int tests, int failures, int errors, int skipped, long runTime) {
+            return "{\"event\":\"runFinished\",\"tests\":" + tests + ",\"failures\":"
+                    + failures + ",\"errors\":" + errors + ",\"skipped\":" + skipped
+                    + ",\"time\":" + seconds(runTime) + "}\n";
+        }
+
+        private static String quote(String text) {
+            StringBuilder quoted = new StringBuilder(text.length() + 2).append('"');
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '"':
+                        quoted.append("\\\"");
+                        break;
+                    case '\\':
+                        quoted.append("\\\\");
+                        break;
+                    case '\n':
+                        quoted.append("\\n");
+                        break;
+                    case '\r':
+                        quoted.append("\\r");
+                        break;
+                    case '\t':
+                        quoted.append("\\t");
+                        break;
+                    default:
+                        if (c < ' ') {
+                            String hex = Integer.toHexString(c);
+                            quoted.append("\\u0000", 0, 6 - hex.length()).append(hex);
+                        } else {
+                            quoted.append(c);
+                        }
+                }
+            }
+            return quoted.append('"').toString();
+        }
+    }
+}
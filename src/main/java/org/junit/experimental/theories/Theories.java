@@ -9,6 +9,7 @@ import java.util.List;
 
 import org.junit.Assert;
 import org.junit.Assume;
+import org.junit.experimental.theories.internal.AssignmentSequence;
 import org.junit.experimental.theories.internal.Assignments;
 import org.junit.experimental.theories.internal.ParameterizedAssertionError;
 import org.junit.internal.AssumptionViolatedException;
@@ -120,9 +121,11 @@ public class Theories extends BlockJUnit4ClassRunner {
     @Override
     protected void validateTestMethods(List<Throwable> errors) {
         for (FrameworkMethod each : computeTestMethods()) {
-            if (each.getAnnotation(Theory.class) != null) {
+            Theory theory = each.getAnnotation(Theory.class);
+            if (theory != null) {
                 each.validatePublicVoid(false, errors);
                 each.validateNoTypeParametersOnArgs(errors);
+                validateAssignmentBudget(each, theory, errors);
             } else {
                 each.validatePublicVoidNoArg(false, errors);
             }
@@ -136,6 +139,14 @@ public class Theories extends BlockJUnit4ClassRunner {
         }
     }
 
+    private void validateAssignmentBudget(FrameworkMethod method, Theory theory, List<Throwable> errors) {
+        if (theory.maxAssignments() < 0) {
+            errors.add(new Error("Theory " + method.getName() + " must not have a negative maxAssignments"));
+        } else if (theory.strategy() == Theory.Strategy.RANDOM && theory.maxAssignments() == 0) {
+            errors.add(new Error("Theory " + method.getName() + " uses the RANDOM strategy and must set maxAssignments"));
+        }
+    }
+
     private void validateParameterSupplier(Class<? extends ParameterSupplier> supplierClass, List<Throwable> errors) {
         Constructor<?>[] constructors = supplierClass.getConstructors();
         
@@ -173,6 +184,8 @@ public class Theories extends BlockJUnit4ClassRunner {
 
         private List<AssumptionViolatedException> fInvalidParameters = new ArrayList<AssumptionViolatedException>();
 
+        private AssignmentRunner assignmentRunner;
+
         public TheoryAnchor(FrameworkMethod testMethod, TestClass testClass) {
             this.testMethod = testMethod;
             this.testClass = testClass;
@@ -205,59 +218,98 @@ public class Theories extends BlockJUnit4ClassRunner {
             }
         }
 
+        /**
+         * Calls {@link #runWithAssignment(Assignments)} with every complete
+         * assignment that extends {@code incomplete} and is chosen by the
+         * theory's {@link Theory#strategy() strategy}. The same
+         * {@link Assignments} instance may be reused for consecutive complete
+         * assignments, so overriding methods must not keep it after they
+         * return.
+         */
         protected void runWithIncompleteAssignment(Assignments incomplete)
                 throws Throwable {
-            for (PotentialAssignment source : incomplete
-                    .potentialsForNextUnassigned()) {
-                runWithAssignment(incomplete.assignNext(source));
+            AssignmentSequence sequence = AssignmentSequence.forTheory(incomplete,
+                    testMethod.getAnnotation(Theory.class));
+            while (sequence.next()) {
+                runWithAssignment(sequence.current());
             }
         }
 
         protected void runWithCompleteAssignment(final Assignments complete)
                 throws Throwable {
-            new BlockJUnit4ClassRunner(getTestClass().getJavaClass()) {
-                @Override
-                protected void collectInitializationErrors(
-                        List<Throwable> errors) {
-                    // do nothing
-                }
+            getAssignmentRunner().methodBlock(testMethod, complete).evaluate();
+        }
 
-                @Override
-                public Statement methodBlock(FrameworkMethod method) {
-                    final Statement statement = super.methodBlock(method);
-                    return new Statement() {
-                        @Override
-                        public void evaluate() throws Throwable {
-                            try {
-                                statement.evaluate();
-                                handleDataPointSuccess();
-                            } catch (AssumptionViolatedException e) {
-                                handleAssumptionViolation(e);
-                            } catch (Throwable e) {
-                                reportParameterizedError(e, complete
-                                        .getArgumentStrings(nullsOk()));
-                            }
-                        }
+        private AssignmentRunner getAssignmentRunner() throws InitializationError {
+            if (assignmentRunner == null) {
+                assignmentRunner = new AssignmentRunner();
+            }
+            return assignmentRunner;
+        }
 
-                    };
-                }
+        /**
+         * Runs the theory for one complete assignment at a time. A single
+         * instance is shared by all the assignments of the theory, so the
+         * test class is neither scanned nor validated again for each of them.
+         */
+        private class AssignmentRunner extends BlockJUnit4ClassRunner {
+            private Assignments complete;
 
-                @Override
-                protected Statement methodInvoker(FrameworkMethod method, Object test) {
-                    return methodCompletesWithParameters(method, complete, test);
-                }
+            AssignmentRunner() throws InitializationError {
+                super(TheoryAnchor.this.getTestClass().getJavaClass());
+            }
 
-                @Override
-                public Object createTest() throws Exception {
-                    Object[] params = complete.getConstructorArguments();
-                    
-                    if (!nullsOk()) {
-                        Assume.assumeNotNull(params);
+            @Override
+            protected TestClass createTestClass(Class<?> testClass) {
+                return TheoryAnchor.this.getTestClass();
+            }
+
+            @Override
+            protected void collectInitializationErrors(List<Throwable> errors) {
+                // do nothing
+            }
+
+            Statement methodBlock(FrameworkMethod method, Assignments complete) {
+                this.complete = complete;
+                return methodBlock(method);
+            }
+
+            @Override
+            public Statement methodBlock(FrameworkMethod method) {
+                final Assignments complete = this.complete;
+                final Statement statement = super.methodBlock(method);
+                return new Statement() {
+                    @Override
+                    public void evaluate() throws Throwable {
+                        try {
+                            statement.evaluate();
+                            handleDataPointSuccess();
+                        } catch (AssumptionViolatedException e) {
+                            handleAssumptionViolation(e);
+                        } catch (Throwable e) {
+                            reportParameterizedError(e, complete
+                                    .getArgumentStrings(nullsOk()));
+                        }
                     }
-                    
-                    return getTestClass().getOnlyConstructor().newInstance(params);
+
+                };
+            }
+
+            @Override
+            protected Statement methodInvoker(FrameworkMethod method, Object test) {
+                return methodCompletesWithParameters(method, complete, test);
+            }
+
+            @Override
+            public Object createTest() throws Exception {
+                Object[] params = complete.getConstructorArguments();
+
+                if (!nullsOk()) {
+                    Assume.assumeNotNull(params);
                 }
-            }.methodBlock(testMethod).evaluate();
+
+                return getTestClass().getOnlyConstructor().newInstance(params);
+            }
         }
 
         private Statement methodCompletesWithParameters(
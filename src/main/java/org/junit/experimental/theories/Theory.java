@@ -15,4 +15,65 @@ import java.lang.annotation.Target;
 @Target(METHOD)
 public @interface Theory {
     boolean nullsAccepted() default true;
+
+    /**
+     * Whether the values of {@link DataPoints} fields and methods may be shared
+     * by all the assignments of this theory. By default each of them is read at
+     * most once per theory. Set this to {@code false} if the theory modifies
+     * its parameters and needs the {@code @DataPoints} methods to be invoked
+     * again for every partial assignment.
+     *
+     * @since 4.12
+     */
+    boolean reuseDataPoints() default true;
+
+    /**
+     * The maximum number of complete assignments the theory is run with. The
+     * default, {@code 0}, means that there is no limit. Required for
+     * {@link Strategy#RANDOM}.
+     *
+     * @since 4.12
+     */
+    int maxAssignments() default 0;
+
+    /**
+     * How the assignments of the theory are chosen from all possible
+     * combinations of data points.
+     *
+     * @since 4.12
+     */
+    Strategy strategy() default Strategy.EXHAUSTIVE;
+
+    /**
+     * The seed of the {@link Strategy#RANDOM} strategy. Running a theory
+     * again with the same seed and data points picks the same assignments.
+     *
+     * @since 4.12
+     */
+    long seed() default 0;
+
+    /**
+     * Strategies for choosing the assignments of a theory.
+     *
+     * @since 4.12
+     */
+    enum Strategy {
+        /**
+         * Every combination of data points, in declaration order.
+         */
+        EXHAUSTIVE,
+
+        /**
+         * A set of combinations that contains every pair of values of any two
+         * parameters at least once. Usually much smaller than
+         * {@link #EXHAUSTIVE}, and always deterministic.
+         */
+        PAIRWISE,
+
+        /**
+         * {@link Theory#maxAssignments()} combinations picked at random, using
+         * {@link Theory#seed()}.
+         */
+        RANDOM
+    }
 }
\ No newline at end of file
@@ -0,0 +1,332 @@
+package org.junit.experimental.theories.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.experimental.theories.PotentialAssignment;
+import org.junit.experimental.theories.Theory;
+
+/**
+ * Enumerates the complete assignments that extend an incomplete
+ * {@link Assignments}, one at a time. The sequence keeps an index into the
+ * potential assignments of each unassigned parameter and overwrites a single
+ * {@link Assignments} in place, so moving to the next assignment does not
+ * copy the values assigned so far.
+ *
+ * <p>The assignment returned by {@link #current()} is only valid until the
+ * next call to {@link #next()}.
+ */
+public abstract class AssignmentSequence {
+    private final Assignments current;
+
+    private final int first;
+
+    private final int size;
+
+    private final int maxAssignments;
+
+    private int count = 0;
+
+    AssignmentSequence(Assignments incomplete, int maxAssignments) {
+        current = incomplete.completableCopy();
+        first = incomplete.getAssignedCount();
+        size = incomplete.getParameterCount() - first;
+        this.maxAssignments = maxAssignments;
+    }
+
+    /**
+     * Returns the sequence of complete assignments that {@code theory} asks
+     * for. If {@code theory} is {@code null}, all assignments are enumerated.
+     */
+    public static AssignmentSequence forTheory(Assignments incomplete, Theory theory) {
+        if (theory == null) {
+            return new Exhaustive(incomplete, 0);
+        }
+        switch (theory.strategy()) {
+            case PAIRWISE:
+                return new Pairwise(incomplete, theory.maxAssignments());
+            case RANDOM:
+                return new RandomSample(incomplete, theory.maxAssignments(), theory.seed());
+            default:
+                return new Exhaustive(incomplete, theory.maxAssignments());
+        }
+    }
+
+    /**
+     * Moves to the next complete assignment.
+     *
+     * @return {@code false} if there are no more assignments
+     */
+    public boolean next() throws Throwable {
+        if (maxAssignments > 0 && count >= maxAssignments) {
+            return false;
+        }
+        if (advance()) {
+            count++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the complete assignment that the last successful call to
+     * {@link #next()} moved to.
+     */
+    public Assignments current() {
+        return current;
+    }
+
+    /**
+     * Assigns the values of the next complete assignment, using
+     * {@link #assign(int, PotentialAssignment)}.
+     *
+     * @return {@code false} if there are no more assignments
+     */
+    abstract boolean advance() throws Throwable;
+
+    /**
+     * Returns the number of parameters this sequence assigns.
+     */
+    int size() {
+        return size;
+    }
+
+    void assign(int level, PotentialAssignment value) {
+        current.set(first + level, value);
+    }
+
+    List<PotentialAssignment> potentialsFor(int level) throws Throwable {
+        return current.potentialsFor(first + level);
+    }
+
+    boolean hasStablePotentials(int level) {
+        return current.hasStablePotentials(first + level);
+    }
+
+    /**
+     * Resolves the potential assignments of all levels, or returns
+     * {@code null} if any level has none.
+     */
+    List<List<PotentialAssignment>> potentialsForAllLevels() throws Throwable {
+        List<List<PotentialAssignment>> potentials = new ArrayList<List<PotentialAssignment>>(size);
+        for (int level = 0; level < size; level++) {
+            List<PotentialAssignment> values = potentialsFor(level);
+            if (values.isEmpty()) {
+                return null;
+            }
+            potentials.add(values);
+        }
+        return potentials;
+    }
+
+    /**
+     * Enumerates every combination, depth first. The potential assignments of
+     * a level are resolved when the level is entered, exactly as often as a
+     * recursive enumeration would resolve them, unless they are known not to
+     * change.
+     */
+    private static class Exhaustive extends AssignmentSequence {
+        private final List<List<PotentialAssignment>> potentials;
+
+        private final int[] indices;
+
+        private int depth = 0;
+
+        private boolean started = false;
+
+        Exhaustive(Assignments incomplete, int maxAssignments) {
+            super(incomplete, maxAssignments);
+            potentials = new ArrayList<List<PotentialAssignment>>(size());
+            for (int level = 0; level < size(); level++) {
+                potentials.add(null);
+            }
+            indices = new int[size()];
+        }
+
+        @Override
+        boolean advance() throws Throwable {
+            if (!started) {
+                started = true;
+                if (size() == 0) {
+                    return true;
+                }
+                enter(0);
+            } else if (size() == 0) {
+                return false;
+            }
+            while (depth >= 0) {
+                int index = ++indices[depth];
+                List<PotentialAssignment> values = potentials.get(depth);
+                if (index >= values.size()) {
+                    depth--;
+                } else {
+                    assign(depth, values.get(index));
+                    if (depth == size() - 1) {
+                        return true;
+                    }
+                    enter(++depth);
+                }
+            }
+            return false;
+        }
+
+        private void enter(int level) throws Throwable {
+            if (potentials.get(level) == null || !hasStablePotentials(level)) {
+                potentials.set(level, potentialsFor(level));
+            }
+            indices[level] = -1;
+        }
+    }
+
+    /**
+     * Picks each value of each level independently at random.
+     */
+    private static class RandomSample extends AssignmentSequence {
+        private final Random random;
+
+        private List<List<PotentialAssignment>> potentials;
+
+        private boolean started = false;
+
+        RandomSample(Assignments incomplete, int maxAssignments, long seed) {
+            super(incomplete, maxAssignments);
+            random = new Random(seed);
+        }
+
+        @Override
+        boolean advance() throws Throwable {
+            if (!started) {
+                started = true;
+                potentials = potentialsForAllLevels();
+            }
+            if (potentials == null) {
+                return false;
+            }
+            for (int level = 0; level < size(); level++) {
+                List<PotentialAssignment> values = potentials.get(level);
+                assign(level, values.get(random.nextInt(values.size())));
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Covers every pair of values of any two levels, building the rows
+     * greedily: each row starts with a pair that is not covered yet and then
+     * picks, level by level, the value that covers the most new pairs.
+     */
+    private static class Pairwise extends AssignmentSequence {
+        private List<List<PotentialAssignment>> potentials;
+
+        private List<int[]> rows;
+
+        private int nextRow = 0;
+
+        Pairwise(Assignments incomplete, int maxAssignments) {
+            super(incomplete, maxAssignments);
+        }
+
+        @Override
+        boolean advance() throws Throwable {
+            if (rows == null) {
+                potentials = potentialsForAllLevels();
+                rows = potentials == null ? new ArrayList<int[]>() : computeRows();
+            }
+            if (nextRow >= rows.size()) {
+                return false;
+            }
+            int[] row = rows.get(nextRow++);
+            for (int level = 0; level < size(); level++) {
+                assign(level, potentials.get(level).get(row[level]));
+            }
+            return true;
+        }
+
+        private List<int[]> computeRows() {
+            List<int[]> result = new ArrayList<int[]>();
+            int levels = size();
+            if (levels < 2) {
+                int values = levels == 0 ? 1 : potentials.get(0).size();
+                for (int value = 0; value < values; value++) {
+                    result.add(levels == 0 ? new int[0] : new int[]{value});
+                }
+                return result;
+            }
+
+            int[] sizes = new int[levels];
+            for (int level = 0; level < levels; level++) {
+                sizes[level] = potentials.get(level).size();
+            }
+            boolean[][][] covered = new boolean[levels][levels][];
+            int uncovered = 0;
+            for (int a = 0; a < levels; a++) {
+                for (int b = a + 1; b < levels; b++) {
+                    covered[a][b] = new boolean[sizes[a] * sizes[b]];
+                    uncovered += sizes[a] * sizes[b];
+                }
+            }
+
+            while (uncovered > 0) {
+                int[] row = new int[levels];
+                Arrays.fill(row, -1);
+                startWithUncoveredPair(row, sizes, covered);
+                for (int level = 0; level < levels; level++) {
+                    if (row[level] < 0) {
+                        row[level] = bestValue(level, row, sizes, covered);
+                    }
+                }
+                for (int a = 0; a < levels; a++) {
+                    for (int b = a + 1; b < levels; b++) {
+                        int pair = row[a] * sizes[b] + row[b];
+                        if (!covered[a][b][pair]) {
+                            covered[a][b][pair] = true;
+                            uncovered--;
+                        }
+                    }
+                }
+                result.add(row);
+            }
+            return result;
+        }
+
+        private void startWithUncoveredPair(int[] row, int[] sizes, boolean[][][] covered) {
+            for (int a = 0; a < sizes.length; a++) {
+                for (int b = a + 1; b < sizes.length; b++) {
+                    for (int pair = 0; pair < covered[a][b].length; pair++) {
+                        if (!covered[a][b][pair]) {
+                            row[a] = pair / sizes[b];
+                            row[b] = pair % sizes[b];
+                            return;
+                        }
+                    }
+                }
+            }
+        }
+
+        private int bestValue(int level, int[] row, int[] sizes, boolean[][][] covered) {
+            int best = 0;
+            int bestGain = -1;
+            for (int value = 0; value < sizes[level]; value++) {
+                int gain = 0;
+                for (int other = 0; other < sizes.length; other++) {
+                    if (other == level || row[other] < 0) {
+                        continue;
+                    }
+                    boolean isCovered = other < level
+                            ? covered[other][level][row[other] * sizes[level] + value]
+                            : covered[level][other][value * sizes[other] + row[other]];
+                    if (!isCovered) {
+                        gain++;
+                    }
+                }
+                if (gain > bestGain) {
+                    best = value;
+                    bestGain = gain;
+                }
+            }
+            return best;
+        }
+    }
+}
@@ -4,7 +4,6 @@ import static java.util.Collections.emptyList;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.experimental.theories.ParameterSignature;
@@ -12,6 +11,7 @@ import org.junit.experimental.theories.ParameterSupplier;
 import org.junit.experimental.theories.ParametersSuppliedBy;
 import org.junit.experimental.theories.PotentialAssignment;
 import org.junit.experimental.theories.PotentialAssignment.CouldNotGenerateValueException;
+import org.junit.experimental.theories.Theory;
 import org.junit.runners.model.TestClass;
 
 /**
@@ -19,17 +19,27 @@ import org.junit.runners.model.TestClass;
  * parameters
  */
 public class Assignments {
-    private final List<PotentialAssignment> assigned;
+    private final PotentialAssignment[] assigned;
 
-    private final List<ParameterSignature> unassigned;
+    private final int assignedCount;
+
+    private final List<ParameterSignature> signatures;
+
+    private final int constructorParameterCount;
 
     private final TestClass clazz;
 
-    private Assignments(List<PotentialAssignment> assigned,
-            List<ParameterSignature> unassigned, TestClass clazz) {
-        this.unassigned = unassigned;
+    private final DataPointIndex index;
+
+    private Assignments(PotentialAssignment[] assigned, int assignedCount,
+            List<ParameterSignature> signatures, int constructorParameterCount,
+            TestClass clazz, DataPointIndex index) {
         this.assigned = assigned;
+        this.assignedCount = assignedCount;
+        this.signatures = signatures;
+        this.constructorParameterCount = constructorParameterCount;
         this.clazz = clazz;
+        this.index = index;
     }
 
     /**
@@ -41,40 +51,96 @@ public class Assignments {
         List<ParameterSignature> signatures;
         signatures = ParameterSignature.signatures(testClass
                 .getOnlyConstructor());
+        int constructorParameterCount = signatures.size();
         signatures.addAll(ParameterSignature.signatures(testMethod));
-        return new Assignments(new ArrayList<PotentialAssignment>(),
-                signatures, testClass);
+        Theory theory = testMethod.getAnnotation(Theory.class);
+        DataPointIndex index = theory == null || theory.reuseDataPoints()
+                ? new DataPointIndex() : null;
+        return new Assignments(new PotentialAssignment[signatures.size()], 0,
+                signatures, constructorParameterCount, testClass, index);
     }
 
     public boolean isComplete() {
-        return unassigned.size() == 0;
+        return assignedCount == signatures.size();
     }
 
     public ParameterSignature nextUnassigned() {
-        return unassigned.get(0);
+        return signatures.get(assignedCount);
     }
 
     public Assignments assignNext(PotentialAssignment source) {
-        List<PotentialAssignment> assigned = new ArrayList<PotentialAssignment>(
-                this.assigned);
-        assigned.add(source);
+        PotentialAssignment[] assigned = new PotentialAssignment[this.assigned.length];
+        System.arraycopy(this.assigned, 0, assigned, 0, assignedCount);
+        assigned[assignedCount] = source;
 
-        return new Assignments(assigned, unassigned.subList(1,
-                unassigned.size()), clazz);
+        return new Assignments(assigned, assignedCount + 1, signatures,
+                constructorParameterCount, clazz, index);
+    }
+
+    /**
+     * Returns a complete copy of this assignment list whose unassigned
+     * positions can be overwritten in place by {@link #set(int, PotentialAssignment)}.
+     */
+    Assignments completableCopy() {
+        PotentialAssignment[] assigned = new PotentialAssignment[this.assigned.length];
+        System.arraycopy(this.assigned, 0, assigned, 0, assignedCount);
+        return new Assignments(assigned, assigned.length, signatures,
+                constructorParameterCount, clazz, index);
+    }
+
+    void set(int position, PotentialAssignment source) {
+        assigned[position] = source;
+    }
+
+    int getAssignedCount() {
+        return assignedCount;
+    }
+
+    int getParameterCount() {
+        return signatures.size();
     }
 
     public Object[] getActualValues(int start, int stop) 
             throws CouldNotGenerateValueException {
         Object[] values = new Object[stop - start];
         for (int i = start; i < stop; i++) {
-            values[i - start] = assigned.get(i).getValue();
+            values[i - start] = assigned[i].getValue();
         }
         return values;
     }
 
     public List<PotentialAssignment> potentialsForNextUnassigned()
             throws Throwable {
-        ParameterSignature unassigned = nextUnassigned();
+        return potentialsFor(nextUnassigned());
+    }
+
+    /**
+     * Returns whether the potential assignments for the parameter at
+     * {@code position} are the same each time they are asked for.
+     */
+    boolean hasStablePotentials(int position) {
+        return index != null && DataPointIndex.canIndex(signatures.get(position));
+    }
+
+    List<PotentialAssignment> potentialsFor(int position) throws Throwable {
+        return potentialsFor(signatures.get(position));
+    }
+
+    private List<PotentialAssignment> potentialsFor(ParameterSignature unassigned)
+            throws Throwable {
+        if (index == null || !DataPointIndex.canIndex(unassigned)) {
+            return resolvePotentials(unassigned);
+        }
+
+        List<PotentialAssignment> assignments = index.get(unassigned);
+        if (assignments == null) {
+            assignments = index.put(unassigned, resolvePotentials(unassigned));
+        }
+        return assignments;
+    }
+
+    private List<PotentialAssignment> resolvePotentials(ParameterSignature unassigned)
+            throws Throwable {
         List<PotentialAssignment> assignments = getSupplier(unassigned).getValueSources(unassigned);
         
         if (assignments.size() == 0) {
@@ -125,30 +191,23 @@ public class Assignments {
 
     public Object[] getConstructorArguments()
             throws CouldNotGenerateValueException {
-        return getActualValues(0, getConstructorParameterCount());
+        return getActualValues(0, constructorParameterCount);
     }
 
     public Object[] getMethodArguments() throws CouldNotGenerateValueException {
-        return getActualValues(getConstructorParameterCount(), assigned.size());
+        return getActualValues(constructorParameterCount, assignedCount);
     }
 
     public Object[] getAllArguments() throws CouldNotGenerateValueException {
-        return getActualValues(0, assigned.size());
-    }
-
-    private int getConstructorParameterCount() {
-        List<ParameterSignature> signatures = ParameterSignature
-                .signatures(clazz.getOnlyConstructor());
-        int constructorParameterCount = signatures.size();
-        return constructorParameterCount;
+        return getActualValues(0, assignedCount);
     }
 
     public Object[] getArgumentStrings(boolean nullsOk)
             throws CouldNotGenerateValueException {
-        Object[] values = new Object[assigned.size()];
+        Object[] values = new Object[assignedCount];
         for (int i = 0; i < values.length; i++) {
-            values[i] = assigned.get(i).getDescription();
+            values[i] = assigned[i].getDescription();
         }
         return values;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,71 @@
+package org.junit.experimental.theories.internal;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.experimental.theories.FromDataPoints;
+import org.junit.experimental.theories.ParameterSignature;
+import org.junit.experimental.theories.ParametersSuppliedBy;
+import org.junit.experimental.theories.PotentialAssignment;
+
+/**
+ * Remembers the potential assignments that the built-in suppliers resolved for
+ * the parameters of one theory, keyed by parameter type and
+ * {@link FromDataPoints} name. Each data point field and {@code @DataPoints}
+ * method is therefore read once per theory instead of once for every partial
+ * assignment. Single {@code @DataPoint} methods are still invoked for each
+ * assignment, so that they can return fresh mutable objects.
+ */
+class DataPointIndex {
+    private final Map<Key, List<PotentialAssignment>> potentials = new HashMap<Key, List<PotentialAssignment>>();
+
+    /**
+     * Returns whether the values for {@code sig} only depend on its type and
+     * data point name. Values of custom {@link ParametersSuppliedBy suppliers}
+     * are never indexed.
+     */
+    static boolean canIndex(ParameterSignature sig) {
+        ParametersSuppliedBy annotation = sig.findDeepAnnotation(ParametersSuppliedBy.class);
+        return annotation == null
+                || annotation.value().equals(SpecificDataPointsSupplier.class);
+    }
+
+    List<PotentialAssignment> get(ParameterSignature sig) {
+        return potentials.get(new Key(sig));
+    }
+
+    List<PotentialAssignment> put(ParameterSignature sig, List<PotentialAssignment> values) {
+        List<PotentialAssignment> indexed = Collections.unmodifiableList(values);
+        potentials.put(new Key(sig), indexed);
+        return indexed;
+    }
+
+    private static class Key {
+        private final Class<?> type;
+
+        private final String name;
+
+        Key(ParameterSignature sig) {
+            type = sig.getType();
+            FromDataPoints fromDataPoints = sig.getAnnotation(FromDataPoints.class);
+            name = fromDataPoints == null ? null : fromDataPoints.value();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return type.equals(other.type)
+                    && (name == null ? other.name == null : name.equals(other.name));
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * type.hashCode() + (name == null ? 0 : name.hashCode());
+        }
+    }
+}
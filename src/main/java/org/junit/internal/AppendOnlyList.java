@@ -0,0 +1,56 @@
+package org.junit.internal;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * A list that elements can only be added to. Adding never copies elements
+ * that have already been added, and reading needs no locks, so elements can
+ * be read while others are still being added.
+ *
+ * @since 4.12
+ */
+public final class AppendOnlyList<E> extends AbstractList<E> implements RandomAccess {
+    private static final int SEGMENT_SHIFT = 10;
+
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    private volatile Object[][] segments = new Object[1][];
+
+    private volatile int size = 0;
+
+    @Override
+    public synchronized boolean add(E element) {
+        int index = size;
+        int segment = index >>> SEGMENT_SHIFT;
+        Object[][] current = segments;
+        if (segment == current.length) {
+            Object[][] grown = new Object[2 * current.length][];
+            System.arraycopy(current, 0, grown, 0, current.length);
+            current = grown;
+        }
+        if (current[segment] == null) {
+            current[segment] = new Object[SEGMENT_SIZE];
+        }
+        current[segment][index & SEGMENT_MASK] = element;
+        segments = current;
+        size = index + 1; // publishes the element
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return (E) segments[index >>> SEGMENT_SHIFT][index & SEGMENT_MASK];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,463 @@
+package org.junit.internal.runners;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.Filterable;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.manipulation.Sortable;
+import org.junit.runner.manipulation.Sorter;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runner.notification.StoppedByUserException;
+
+/**
+ * Runs test classes in a pool of worker JVMs, see {@link ForkedWorker}.
+ *
+ * <p>Each worker takes the next class from a shared queue as soon as it has
+ * finished the previous one, and the events of its run are reported to the
+ * {@link RunNotifier} as they arrive. If a worker terminates while running a
+ * class, the tests of the class that did not finish are reported as failed,
+ * and a new worker is started for the remaining classes.
+ *
+ * <p>Filters and sorters are applied to the local runners. Once the runner
+ * has been filtered or sorted, each worker is sent the tests of the local
+ * description of a class, and runs only these tests, in the same order.
+ *
+ * @since 4.12
+ */
+public class ForkedRunner extends Runner implements Filterable, Sortable {
+    private final String name;
+
+    private Description description;
+
+    private final List<Class<?>> classes = new ArrayList<Class<?>>();
+
+    private final List<Runner> runners = new ArrayList<Runner>();
+
+    private final int workers;
+
+    private final List<String> command;
+
+    // Whether the workers must only run the tests of the local descriptions
+    private boolean selectTests = false;
+
+    private final Set<WorkerProcess> liveWorkers = new HashSet<WorkerProcess>();
+
+    /**
+     * Creates a runner that runs {@code classes} in at most {@code workers}
+     * JVMs at the same time.
+     *
+     * @param classes the test classes in the order in which they are handed
+     * out to the workers, with the local runners that describe them. Classes whose runner is an {@link ErrorReportingRunner} are not
+     * forked, but reported locally.
+     * @param jvmArguments the arguments for the worker JVMs, for example
+     * {@code -Xmx256m}
+     */
+    public ForkedRunner(String name, Map<Class<?>, Runner> classes, int workers,
+            List<String> jvmArguments) {
+        this.name = name;
+        for (Map.Entry<Class<?>, Runner> each : classes.entrySet()) {
+            this.classes.add(each.getKey());
+            runners.add(each.getValue());
+        }
+        description = describe();
+        this.workers = workers;
+        command = new ArrayList<String>();
+        command.add(new File(new File(System.getProperty("java.home"), "bin"), "java").getPath());
+        command.addAll(jvmArguments);
+        command.add("-classpath");
+        command.add(System.getProperty("java.class.path"));
+        command.add(ForkedWorker.class.getName());
+    }
+
+    private Description describe() {
+        Description result = Description.createSuiteDescription(name);
+        for (Runner each : runners) {
+            result.addChild(each.getDescription());
+        }
+        return result;
+    }
+
+    @Override
+    public Description getDescription() {
+        return description;
+    }
+
+    public void filter(Filter filter) throws NoTestsRemainException {
+        for (int i = runners.size() - 1; i >= 0; i--) {
+            Runner runner = runners.get(i);
+            if (!filter.shouldRun(runner.getDescription())) {
+                classes.remove(i);
+                runners.remove(i);
+            } else {
+                try {
+                    filter.apply(runner);
+                } catch (NoTestsRemainException e) {
+                    classes.remove(i);
+                    runners.remove(i);
+                }
+            }
+        }
+        selectTests = true;
+        description = describe();
+        if (runners.isEmpty()) {
+            throw new NoTestsRemainException();
+        }
+    }
+
+    public void sort(final Sorter sorter) {
+        List<Integer> order = new ArrayList<Integer>();
+        for (int i = 0; i < runners.size(); i++) {
+            sorter.apply(runners.get(i));
+            order.add(i);
+        }
+        Collections.sort(order, new Comparator<Integer>() {
+            public int compare(Integer o1, Integer o2) {
+                return sorter.compare(runners.get(o1).getDescription(),
+                        runners.get(o2).getDescription());
+            }
+        });
+        List<Class<?>> sortedClasses = new ArrayList<Class<?>>();
+        List<Runner> sortedRunners = new ArrayList<Runner>();
+        for (int each : order) {
+            sortedClasses.add(classes.get(each));
+            sortedRunners.add(runners.get(each));
+        }
+        classes.clear();
+        classes.addAll(sortedClasses);
+        runners.clear();
+        runners.addAll(sortedRunners);
+        selectTests = true;
+        description = describe();
+    }
+
+    @Override
+    public void run(final RunNotifier notifier) {
+        final ConcurrentLinkedQueue<Integer> queue = new ConcurrentLinkedQueue<Integer>();
+        for (int i = 0; i < classes.size(); i++) {
+            if (runners.get(i) instanceof ErrorReportingRunner) {
+                runners.get(i).run(notifier);
+            } else {
+                queue.add(i);
+            }
+        }
+        final AtomicBoolean stopped = new AtomicBoolean(false);
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < Math.min(workers, queue.size()); i++) {
+            Thread thread = new Thread(new Runnable() {
+                public void run() {
+                    runClasses(queue, notifier, stopped);
+                }
+            }, "ForkedRunner-" + (i + 1));
+            thread.start();
+            threads.add(thread);
+        }
+        boolean interrupted = false;
+        for (Thread each : threads) {
+            while (each.isAlive()) {
+                try {
+                    each.join();
+                } catch (InterruptedException e) {
+                    if (!interrupted) {
+                        interrupted = true;
+                        stopped.set(true);
+                        destroyWorkers();
+                    }
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (stopped.get()) {
+            throw new StoppedByUserException();
+        }
+    }
+
+    private WorkerProcess startWorker(AtomicBoolean stopped) throws IOException {
+        WorkerProcess worker = new WorkerProcess(command);
+        synchronized (liveWorkers) {
+            liveWorkers.add(worker);
+        }
+        // The run may have been stopped before the worker was registered
+        if (stopped.get()) {
+            worker.destroy();
+        }
+        return worker;
+    }
+
+    private void destroyWorkers() {
+        synchronized (liveWorkers) {
+            for (WorkerProcess each : liveWorkers) {
+                each.destroy();
+            }
+        }
+    }
+
+    private void stopWorker(WorkerProcess worker, boolean destroy) {
+        synchronized (liveWorkers) {
+            liveWorkers.remove(worker);
+        }
+        if (destroy) {
+            worker.destroy();
+        } else {
+            worker.close();
+        }
+    }
+
+    private void runClasses(ConcurrentLinkedQueue<Integer> queue, RunNotifier notifier,
+            AtomicBoolean stopped) {
+        WorkerProcess worker = null;
+        try {
+            Integer next;
+            while (!stopped.get() && (next = queue.poll()) != null) {
+                Description classDescription = runners.get(next).getDescription();
+                try {
+                    if (worker == null) {
+                        worker = startWorker(stopped);
+                    }
+                    worker.run(classes.get(next), classDescription, selectTests, notifier,
+                            stopped);
+                } catch (StoppedByUserException e) {
+                    stopped.set(true);
+                } catch (WorkerTerminatedException e) {
+                    stopWorker(worker, true);
+                    worker = null;
+                } catch (IOException e) {
+                    notifier.fireTestFailure(new Failure(classDescription, e));
+                }
+            }
+        } finally {
+            if (worker != null) {
+                stopWorker(worker, stopped.get());
+            }
+        }
+    }
+
+    private static class WorkerProcess {
+        private final Process process;
+
+        private final DataOutputStream classNames;
+
+        private final DataInputStream events;
+
+        WorkerProcess(List<String> command) throws IOException {
+            process = new ProcessBuilder(command).start();
+            classNames = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+            events = new DataInputStream(new BufferedInputStream(process.getInputStream()));
+            Thread errorCopier = new Thread(new ErrorCopier(process.getErrorStream()),
+                    "ForkedRunner-stderr");
+            errorCopier.setDaemon(true);
+            errorCopier.start();
+        }
+
+        void run(Class<?> testClass, Description classDescription, boolean selectTests,
+                RunNotifier notifier, AtomicBoolean stopped) throws WorkerTerminatedException {
+            Map<Description, Description> localDescriptions = new HashMap<Description, Description>();
+            addWithDescendants(localDescriptions, classDescription);
+            Set<Description> running = new LinkedHashSet<Description>();
+            Set<Description> reported = new HashSet<Description>();
+            try {
+                classNames.writeUTF(testClass.getName());
+                if (selectTests) {
+                    byte[] tests = ForkedWorker.serialize(testsOf(classDescription));
+                    classNames.writeInt(tests.length);
+                    classNames.write(tests);
+                } else {
+                    classNames.writeInt(ForkedWorker.ALL_TESTS);
+                }
+                classNames.flush();
+                int type;
+                while ((type = events.read()) != ForkedWorker.CLASS_FINISHED) {
+                    if (type < 0) {
+                        throw new EOFException();
+                    }
+                    Object event = readEvent();
+                    if (event instanceof Failure) {
+                        Failure failure = (Failure) event;
+                        event = new Failure(local(localDescriptions, failure.getDescription()),
+                                failure.getException());
+                    } else {
+                        event = local(localDescriptions, (Description) event);
+                    }
+                    switch (type) {
+                        case ForkedWorker.TEST_STARTED:
+                            running.add((Description) event);
+                            reported.add((Description) event);
+                            notifier.fireTestStarted((Description) event);
+                            break;
+                        case ForkedWorker.TEST_FINISHED:
+                            running.remove(event);
+                            notifier.fireTestFinished((Description) event);
+                            break;
+                        case ForkedWorker.TEST_FAILURE:
+                            notifier.fireTestFailure((Failure) event);
+                            break;
+                        case ForkedWorker.TEST_ASSUMPTION_FAILURE:
+                            notifier.fireTestAssumptionFailed((Failure) event);
+                            break;
+                        case ForkedWorker.TEST_IGNORED:
+                            reported.add((Description) event);
+                            notifier.fireTestIgnored((Description) event);
+                            break;
+                        default:
+                            throw new IOException("Unknown event type " + type);
+                    }
+                }
+            } catch (Exception e) {
+                if (e instanceof StoppedByUserException) {
+                    throw (StoppedByUserException) e;
+                }
+                destroy();
+                if (stopped.get()) {
+                    // The worker was destroyed because the run was stopped
+                    throw new StoppedByUserException();
+                }
+                WorkerTerminatedException terminated = new WorkerTerminatedException(
+                        testClass, e);
+                for (Description each : running) {
+                    notifier.fireTestFailure(new Failure(each, terminated));
+                    notifier.fireTestFinished(each);
+                }
+                List<Description> notStarted = new ArrayList<Description>();
+                for (Description each : testsOf(classDescription)) {
+                    if (!reported.contains(each)) {
+                        notStarted.add(each);
+                    }
+                }
+                for (Description each : notStarted) {
+                    notifier.fireTestStarted(each);
+                    notifier.fireTestFailure(new Failure(each, terminated));
+                    notifier.fireTestFinished(each);
+                }
+                if (running.isEmpty() && notStarted.isEmpty()) {
+                    notifier.fireTestFailure(new Failure(classDescription, terminated));
+                }
+                throw terminated;
+            }
+        }
+
+        private static ArrayList<Description> testsOf(Description description) {
+            ArrayList<Description> tests = new ArrayList<Description>();
+            addTests(tests, description);
+            return tests;
+        }
+
+        private static void addTests(List<Description> tests, Description description) {
+            if (description.isTest()) {
+                tests.add(description);
+            }
+            for (Description each : description.getChildrenUnmodifiable()) {
+                addTests(tests, each);
+            }
+        }
+
+        private Object readEvent() throws IOException, ClassNotFoundException {
+            byte[] bytes = new byte[events.readInt()];
+            events.readFully(bytes);
+            ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(bytes)) {
+                @Override
+                protected Class<?> resolveClass(java.io.ObjectStreamClass desc)
+                        throws IOException, ClassNotFoundException {
+                    try {
+                        return Class.forName(desc.getName(), false,
+                                Thread.currentThread().getContextClassLoader());
+                    } catch (ClassNotFoundException e) {
+                        return super.resolveClass(desc);
+                    }
+                }
+            };
+            return stream.readObject();
+        }
+
+        private static void addWithDescendants(Map<Description, Description> descriptions,
+                Description description) {
+            descriptions.put(description, description);
+            for (Description each : description.getChildrenUnmodifiable()) {
+                addWithDescendants(descriptions, each);
+            }
+        }
+
+        /**
+         * Returns the description of the local runner that is equal to
+         * {@code description}, so that listeners see the same instances as in
+         * the plan of the run.
+         */
+        private static Description local(Map<Description, Description> descriptions,
+                Description description) {
+            Description local = descriptions.get(description);
+            return local != null ? local : description;
+        }
+
+        void close() {
+            try {
+                classNames.close();
+                process.waitFor();
+            } catch (IOException e) {
+                destroy();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                destroy();
+            }
+        }
+
+        void destroy() {
+            process.destroy();
+        }
+    }
+
+    private static class ErrorCopier implements Runnable {
+        private final InputStream errors;
+
+        ErrorCopier(InputStream errors) {
+            this.errors = errors;
+        }
+
+        public void run() {
+            byte[] buffer = new byte[8192];
+            try {
+                int read;
+                while ((read = errors.read(buffer)) >= 0) {
+                    System.err.write(buffer, 0, read);
+                }
+                System.err.flush();
+            } catch (IOException e) {
+                // The worker is gone
+            }
+        }
+    }
+
+    /**
+     * Thrown if a worker JVM terminated before it finished running a class.
+     */
+    public static class WorkerTerminatedException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        WorkerTerminatedException(Class<?> testClass, Throwable cause) {
+            super("Worker JVM terminated while running " + testClass.getName(), cause);
+        }
+    }
+}
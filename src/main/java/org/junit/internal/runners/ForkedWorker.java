@@ -0,0 +1,246 @@
+package org.junit.internal.runners;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.internal.Classes;
+import org.junit.runner.Description;
+import org.junit.runner.Request;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+
+/**
+ * The main class of the worker JVMs started by {@link ForkedRunner}.
+ *
+ * <p>A worker reads the names of test classes from its standard input, each
+ * followed by the tests of the class that should run, runs each class with
+ * the default runner and writes the events of the run to its standard output. Anything the tests print to {@code System.out} goes to
+ * standard error instead. The worker exits when its standard input is closed.
+ *
+ * @since 4.12
+ */
+public final class ForkedWorker {
+    static final int TEST_STARTED = 1;
+
+    static final int TEST_FINISHED = 2;
+
+    static final int TEST_FAILURE = 3;
+
+    static final int TEST_ASSUMPTION_FAILURE = 4;
+
+    static final int TEST_IGNORED = 5;
+
+    static final int CLASS_FINISHED = 6;
+
+    /**
+     * Sent instead of the length of the serialized tests of a class if all
+     * its tests should run.
+     */
+    static final int ALL_TESTS = -1;
+
+    private ForkedWorker() {
+    }
+
+    public static void main(String[] args) throws IOException, ClassNotFoundException {
+        DataOutputStream events = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(FileDescriptor.out)));
+        System.setOut(System.err);
+        DataInputStream classNames = new DataInputStream(new BufferedInputStream(System.in));
+        while (true) {
+            String className;
+            try {
+                className = classNames.readUTF();
+            } catch (EOFException e) {
+                return;
+            }
+            List<Description> tests = null;
+            int length = classNames.readInt();
+            if (length != ALL_TESTS) {
+                byte[] bytes = new byte[length];
+                classNames.readFully(bytes);
+                tests = deserializeTests(bytes);
+            }
+            runClass(className, tests, events);
+            synchronized (events) {
+                events.writeByte(CLASS_FINISHED);
+                events.flush();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Description> deserializeTests(byte[] bytes)
+            throws IOException, ClassNotFoundException {
+        ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(bytes));
+        try {
+            return (List<Description>) stream.readObject();
+        } finally {
+            stream.close();
+        }
+    }
+
+    private static void runClass(String className, List<Description> tests,
+            DataOutputStream events) {
+        RunNotifier notifier = new RunNotifier();
+        notifier.addListener(new EventWriter(events));
+        try {
+            Request request = Request.aClass(Classes.getClass(className));
+            if (tests != null) {
+                SelectedTests selected = new SelectedTests(tests);
+                request = request.filterWith(selected).sortWith(selected.order());
+            }
+            request.getRunner().run(notifier);
+        } catch (Throwable e) {
+            notifier.fireTestFailure(new Failure(
+                    Description.createSuiteDescription(className), e));
+        }
+    }
+
+    @RunListener.ThreadSafe
+    private static class EventWriter extends RunListener {
+        private final DataOutputStream events;
+
+        EventWriter(DataOutputStream events) {
+            this.events = events;
+        }
+
+        @Override
+        public void testStarted(Description description) throws Exception {
+            write(TEST_STARTED, description);
+        }
+
+        @Override
+        public void testFinished(Description description) throws Exception {
+            write(TEST_FINISHED, description);
+        }
+
+        @Override
+        public void testFailure(Failure failure) throws Exception {
+            write(TEST_FAILURE, serializable(failure));
+        }
+
+        @Override
+        public void testAssumptionFailure(Failure failure) {
+            try {
+                write(TEST_ASSUMPTION_FAILURE, serializable(failure));
+            } catch (IOException e) {
+                exitAfter(e);
+            }
+        }
+
+        @Override
+        public void testIgnored(Description description) throws Exception {
+            write(TEST_IGNORED, description);
+        }
+
+        private void write(int type, Object event) throws IOException {
+            byte[] bytes = serialize(event);
+            synchronized (events) {
+                try {
+                    events.writeByte(type);
+                    events.writeInt(bytes.length);
+                    events.write(bytes);
+                    events.flush();
+                } catch (IOException e) {
+                    exitAfter(e);
+                }
+            }
+        }
+
+        private static void exitAfter(IOException e) {
+            // The parent is gone, so nobody is interested in the results
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Selects the tests the parent sent for a class, and sorts them in the
+     * order in which they were sent.
+     */
+    private static class SelectedTests extends Filter {
+        private final Map<Description, Integer> indexes = new HashMap<Description, Integer>();
+
+        SelectedTests(List<Description> tests) {
+            for (Description each : tests) {
+                indexes.put(each, indexes.size());
+            }
+        }
+
+        @Override
+        public boolean shouldRun(Description description) {
+            return firstIndex(description) != Integer.MAX_VALUE;
+        }
+
+        @Override
+        public String describe() {
+            return indexes.size() + " selected tests";
+        }
+
+        Comparator<Description> order() {
+            return new Comparator<Description>() {
+                public int compare(Description o1, Description o2) {
+                    int index1 = firstIndex(o1);
+                    int index2 = firstIndex(o2);
+                    return index1 < index2 ? -1 : (index1 == index2 ? 0 : 1);
+                }
+            };
+        }
+
+        /**
+         * Returns the smallest index of a selected test of {@code description},
+         * or {@link Integer#MAX_VALUE} if none of its tests is selected.
+         */
+        private int firstIndex(Description description) {
+            if (description.isTest()) {
+                Integer index = indexes.get(description);
+                return index == null ? Integer.MAX_VALUE : index;
+            }
+            int result = Integer.MAX_VALUE;
+            for (Description each : description.getChildrenUnmodifiable()) {
+                result = Math.min(result, firstIndex(each));
+            }
+            return result;
+        }
+    }
+
+    static byte[] serialize(Object event) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream stream = new ObjectOutputStream(bytes);
+        stream.writeObject(event);
+        stream.close();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Returns {@code failure}, or a copy of it with a plain exception if the
+     * thrown exception cannot be serialized.
+     */
+    private static Failure serializable(Failure failure) {
+        try {
+            serialize(failure);
+            return failure;
+        } catch (IOException e) {
+            Throwable thrown = failure.getException();
+            Exception copy = new Exception(thrown.toString());
+            copy.setStackTrace(thrown.getStackTrace());
+            return new Failure(failure.getDescription(), copy);
+        }
+    }
+}
@@ -18,7 +18,6 @@ import org.junit.runner.manipulation.Sorter;
 import org.junit.runner.notification.Failure;
 import org.junit.runner.notification.RunNotifier;
 import java.lang.annotation.Annotation;
-import java.lang.reflect.Method;
 
 public class JUnit38ClassRunner extends Runner implements Filterable, Sortable {
     private static final class OldTestClassAdaptingListener implements
@@ -128,12 +127,10 @@ public class JUnit38ClassRunner extends Runner implements Filterable, Sortable {
      */
     private static Annotation[] getAnnotations(TestCase test) {
         try {
-            Method m = test.getClass().getMethod(test.getName());
-            return m.getDeclaredAnnotations();
+            return TestCaseMethods.forClass(test.getClass()).getDeclaredAnnotations(test.getName());
         } catch (SecurityException e) {
-        } catch (NoSuchMethodException e) {
+            return new Annotation[0];
         }
-        return new Annotation[0];
     }
 
     private static String createSuiteDescription(TestSuite ts) {
@@ -0,0 +1,285 @@
+package org.junit.internal.runners;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.runner.notification.StoppedByUserException;
+import org.junit.runners.model.RunnerScheduler;
+
+/**
+ * A bounded pool of daemon worker threads that is shared by all the
+ * {@link RunnerScheduler}s it creates.
+ *
+ * <p>Children scheduled by any of the schedulers are put on one queue that is
+ * drained by at most {@link #getParallelism()} workers, so no more than that
+ * many children run at the same time. A thread that is not a worker of the
+ * pool only waits in {@link RunnerScheduler#finished()}. A worker that runs a
+ * child with children of its own (for example a class of a suite whose
+ * methods are scheduled on the same pool) does not block while its children
+ * are still waiting in the queue: it takes them back and runs them itself,
+ * and only waits for children that are already running on another worker.
+ * Nested schedulers can therefore share the same pool without starving each
+ * other.
+ *
+ * <p>If a thread is interrupted while it waits in {@code finished()}, the
+ * children that have not started yet are cancelled, the running ones are
+ * interrupted, and {@code finished()} throws a {@link StoppedByUserException}
+ * without waiting for them. The thread keeps its interrupted status.
+ *
+ * <p>Idle workers terminate after a short keep-alive time, so a pool that is
+ * no longer used does not need to be shut down.
+ *
+ * @since 4.12
+ */
+public class SharedSchedulerPool {
+    private static final long KEEP_ALIVE_MILLIS = 1000;
+
+    private static final int MIN_CHILDREN_TO_PRUNE = 64;
+
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+
+    private final BlockingQueue<ScheduledChild> queue = new LinkedBlockingQueue<ScheduledChild>();
+
+    private final AtomicInteger liveWorkers = new AtomicInteger();
+
+    private final AtomicInteger workerNumber = new AtomicInteger();
+
+    private final int parallelism;
+
+    private final String namePrefix;
+
+    /**
+     * Creates a pool that runs children on at most {@code parallelism} worker
+     * threads.
+     *
+     * @throws IllegalArgumentException if {@code parallelism} is not positive
+     */
+    public SharedSchedulerPool(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(
+                    "parallelism must be positive, but was " + parallelism);
+        }
+        this.parallelism = parallelism;
+        namePrefix = "SharedSchedulerPool-" + POOL_NUMBER.incrementAndGet() + "-worker-";
+    }
+
+    /**
+     * Returns the parallelism used when no other value is configured: the
+     * number of available processors, but at least two, so that children
+     * run in parallel on a machine with a single processor, too.
+     */
+    public static int defaultParallelism() {
+        return Math.max(2, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Returns the maximum number of worker threads of this pool.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Returns a new {@link RunnerScheduler} that runs its children on this
+     * pool. Each scheduler must only be used by a single parent runner.
+     */
+    public RunnerScheduler newScheduler() {
+        return new PooledScheduler();
+    }
+
+    private void submit(ScheduledChild child) {
+        queue.add(child);
+        if (reserveWorker()) {
+            new WorkerThread().start();
+        }
+    }
+
+    private boolean reserveWorker() {
+        while (true) {
+            int live = liveWorkers.get();
+            if (live >= parallelism) {
+                return false;
+            }
+            if (liveWorkers.compareAndSet(live, live + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private boolean isWorkerThread() {
+        Thread current = Thread.currentThread();
+        return current instanceof WorkerThread && ((WorkerThread) current).getPool() == this;
+    }
+
+    private class WorkerThread extends Thread {
+        WorkerThread() {
+            super(namePrefix + workerNumber.incrementAndGet());
+            setDaemon(true);
+        }
+
+        SharedSchedulerPool getPool() {
+            return SharedSchedulerPool.this;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    ScheduledChild child = queue.poll(KEEP_ALIVE_MILLIS, TimeUnit.MILLISECONDS);
+                    if (child != null) {
+                        child.tryRun();
+                    } else {
+                        liveWorkers.decrementAndGet();
+                        // A child may have been queued after the poll timed out
+                        // but before this worker was released.
+                        if (queue.isEmpty() || !reserveWorker()) {
+                            return;
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                liveWorkers.decrementAndGet();
+            }
+        }
+    }
+
+    private class PooledScheduler implements RunnerScheduler {
+        private final List<ScheduledChild> children = new ArrayList<ScheduledChild>();
+
+        private int pruneAt = MIN_CHILDREN_TO_PRUNE;
+
+        public void schedule(Runnable childStatement) {
+            if (children.size() >= pruneAt) {
+                pruneSucceededChildren();
+            }
+            ScheduledChild child = new ScheduledChild(childStatement);
+            children.add(child);
+            submit(child);
+        }
+
+        /**
+         * Forgets the children that have finished without a failure, so that
+         * a parent with a very large number of children does not keep all of
+         * them until {@link #finished()}.
+         */
+        private void pruneSucceededChildren() {
+            for (Iterator<ScheduledChild> iter = children.iterator(); iter.hasNext(); ) {
+                if (iter.next().hasSucceeded()) {
+                    iter.remove();
+                }
+            }
+            pruneAt = Math.max(MIN_CHILDREN_TO_PRUNE, 2 * children.size());
+        }
+
+        public void finished() {
+            try {
+                if (isWorkerThread()) {
+                    // Run the children nobody has picked up yet, newest
+                    // first, so that the other workers and this one rarely
+                    // compete for the same child.
+                    for (int i = children.size() - 1; i >= 0; i--) {
+                        children.get(i).tryRun();
+                    }
+                }
+                for (ScheduledChild each : children) {
+                    each.await();
+                }
+            } catch (InterruptedException e) {
+                for (ScheduledChild each : children) {
+                    each.cancel();
+                }
+                children.clear();
+                Thread.currentThread().interrupt();
+                throw new StoppedByUserException();
+            }
+            List<ScheduledChild> finished = new ArrayList<ScheduledChild>(children);
+            children.clear();
+            pruneAt = MIN_CHILDREN_TO_PRUNE;
+            for (ScheduledChild each : finished) {
+                each.rethrowFailure();
+            }
+        }
+    }
+
+    private static class ScheduledChild {
+        private final AtomicBoolean claimed = new AtomicBoolean(false);
+
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        // Released when the child has run; guarded by claimed
+        private Runnable childStatement;
+
+        // Guarded by this
+        private Thread runningThread;
+
+        private volatile Throwable failure;
+
+        ScheduledChild(Runnable childStatement) {
+            this.childStatement = childStatement;
+        }
+
+        void tryRun() {
+            if (claimed.compareAndSet(false, true)) {
+                synchronized (this) {
+                    runningThread = Thread.currentThread();
+                }
+                try {
+                    childStatement.run();
+                } catch (Throwable e) {
+                    failure = e;
+                } finally {
+                    childStatement = null;
+                    synchronized (this) {
+                        runningThread = null;
+                    }
+                    // Don't let an interrupt left by the child affect the
+                    // children that are run next by the same thread.
+                    Thread.interrupted();
+                    done.countDown();
+                }
+            }
+        }
+
+        /**
+         * Makes sure that the child does not start, or interrupts it if it is
+         * already running.
+         */
+        void cancel() {
+            if (claimed.compareAndSet(false, true)) {
+                childStatement = null;
+                done.countDown();
+            } else {
+                synchronized (this) {
+                    if (runningThread != null) {
+                        runningThread.interrupt();
+                    }
+                }
+            }
+        }
+
+        boolean hasSucceeded() {
+            return done.getCount() == 0 && failure == null;
+        }
+
+        void await() throws InterruptedException {
+            done.await();
+        }
+
+        void rethrowFailure() {
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            } else if (failure instanceof Error) {
+                throw (Error) failure;
+            } else if (failure != null) {
+                throw new RuntimeException(failure);
+            }
+        }
+    }
+}
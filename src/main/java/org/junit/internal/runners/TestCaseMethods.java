@@ -0,0 +1,84 @@
+package org.junit.internal.runners;
+
+import java.lang.annotation.Annotation;
+import java.lang.ref.SoftReference;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * The public methods without parameters of a JUnit 3.8 style test class,
+ * indexed by name.
+ *
+ * <p>A class is scanned once, and the resulting table is shared by
+ * {@link junit.framework.TestCase#runTest()} and the {@link JUnit38ClassRunner}
+ * for as long as the class is not unloaded. Running a test or describing it
+ * therefore costs a map lookup instead of a reflective method lookup, which
+ * matters for tests that are run many times, e.g. by a
+ * {@link junit.extensions.RepeatedTest}.
+ *
+ * @since 4.12
+ */
+public final class TestCaseMethods {
+    private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+
+    private static final Map<Class<?>, SoftReference<TestCaseMethods>> SCANNED_CLASSES =
+            Collections.synchronizedMap(new WeakHashMap<Class<?>, SoftReference<TestCaseMethods>>());
+
+    private final Map<String, Method> methods = new HashMap<String, Method>();
+
+    private final Map<String, Annotation[]> annotations = new HashMap<String, Annotation[]>();
+
+    /**
+     * Returns the method table of {@code testClass}.
+     *
+     * @throws SecurityException if the methods of {@code testClass} must not
+     * be accessed
+     */
+    public static TestCaseMethods forClass(Class<?> testClass) {
+        SoftReference<TestCaseMethods> reference = SCANNED_CLASSES.get(testClass);
+        TestCaseMethods methods = reference == null ? null : reference.get();
+        if (methods == null) {
+            // Two threads may scan the same class; both get equal tables.
+            methods = new TestCaseMethods(testClass);
+            SCANNED_CLASSES.put(testClass, new SoftReference<TestCaseMethods>(methods));
+        }
+        return methods;
+    }
+
+    private TestCaseMethods(Class<?> testClass) {
+        for (Method each : testClass.getMethods()) {
+            if (each.getParameterTypes().length == 0) {
+                Method other = methods.get(each.getName());
+                // Like Class.getMethod(), prefer the most specific return type
+                if (other == null || other.getReturnType().isAssignableFrom(each.getReturnType())) {
+                    methods.put(each.getName(), each);
+                }
+            }
+        }
+        for (Map.Entry<String, Method> each : methods.entrySet()) {
+            annotations.put(each.getKey(), each.getValue().getDeclaredAnnotations());
+        }
+    }
+
+    /**
+     * Returns the public method without parameters named {@code name}, or
+     * {@code null} if there is none. Like {@link Class#getMethod(String, Class...)},
+     * inherited methods are found, too.
+     */
+    public Method getMethod(String name) {
+        return methods.get(name);
+    }
+
+    /**
+     * Returns the annotations that are declared on the method
+     * {@link #getMethod(String) named} {@code name}, or an empty array if
+     * there is no such method. The returned array must not be modified.
+     */
+    public Annotation[] getDeclaredAnnotations(String name) {
+        Annotation[] result = annotations.get(name);
+        return result == null ? NO_ANNOTATIONS : result;
+    }
+}
@@ -3,10 +3,17 @@ package org.junit.internal.runners.statements;
 import java.lang.management.ManagementFactory;
 import java.lang.management.ThreadMXBean;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -14,12 +21,38 @@ import org.junit.runners.model.MultipleFailureException;
 import org.junit.runners.model.Statement;
 import org.junit.runners.model.TestTimedOutException;
 
+/**
+ * Runs a statement on another thread and fails if it does not finish in
+ * time.
+ *
+ * <p>By default, each statement runs on a new daemon thread in a new thread
+ * group. The thread that calls {@link #evaluate()} waits for the result with
+ * the timeout, so no separate watchdog thread is needed.
+ *
+ * <p>If {@link Builder#withThreadPooling(boolean) thread pooling} is enabled,
+ * statements run on shared daemon workers instead, each in a thread group of
+ * its own. A worker whose statement never ends stays busy, and new workers are
+ * added as needed. A worker runs a statement with the context class loader of
+ * the thread that calls {@code evaluate()}. Other state of the calling thread
+ * is not passed on: a statement does not inherit the values of the caller's
+ * {@link InheritableThreadLocal}s, and it may see the values of
+ * {@link ThreadLocal}s that an earlier statement on the same worker did not
+ * remove.
+ */
 public class FailOnTimeout extends Statement {
+    private static final long WORKER_KEEP_ALIVE_SECONDS = 10;
+
+    private static final ThreadFactory THREAD_FACTORY = new TimeLimitedThreadFactory();
+
+    private static final ExecutorService WORKERS = new ThreadPoolExecutor(
+            0, Integer.MAX_VALUE, WORKER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+            new SynchronousQueue<Runnable>(), THREAD_FACTORY);
+
     private final Statement originalStatement;
     private final TimeUnit timeUnit;
     private final long timeout;
     private final boolean lookForStuckThread;
-    private volatile ThreadGroup threadGroup = null;
+    private final boolean threadPooling;
 
     /**
      * Returns a new builder for building an instance.
@@ -47,6 +80,7 @@ public class FailOnTimeout extends Statement {
         timeout = builder.timeout;
         timeUnit = builder.unit;
         lookForStuckThread = builder.lookForStuckThread;
+        threadPooling = builder.threadPooling;
     }
 
     /**
@@ -56,6 +90,7 @@ public class FailOnTimeout extends Statement {
      */
     public static class Builder {
         private boolean lookForStuckThread = false;
+        private boolean threadPooling = false;
         private long timeout = 0;
         private TimeUnit unit = TimeUnit.SECONDS;
 
@@ -101,6 +136,20 @@ public class FailOnTimeout extends Statement {
             return this;
         }
 
+        /**
+         * Specifies whether to run the statement on a shared worker thread
+         * instead of a new thread. A worker does not pass the values of
+         * {@link InheritableThreadLocal}s of the calling thread on, and it
+         * keeps {@link ThreadLocal} values that a statement does not remove.
+         *
+         * @param enable {@code true} to run the statement on a shared worker
+         * @return {@code this} for method chaining.
+         */
+        public Builder withThreadPooling(boolean enable) {
+            this.threadPooling = enable;
+            return this;
+        }
+
         /**
          * Builds a {@link FailOnTimeout} instance using the values in this builder,
          * wrapping the given statement.
@@ -117,14 +166,16 @@ public class FailOnTimeout extends Statement {
 
     @Override
     public void evaluate() throws Throwable {
-        CallableStatement callable = new CallableStatement();
+        CallableStatement callable = new CallableStatement(
+                Thread.currentThread().getContextClassLoader());
         FutureTask<Throwable> task = new FutureTask<Throwable>(callable);
-        threadGroup = new ThreadGroup("FailOnTimeoutGroup");
-        Thread thread = new Thread(threadGroup, task, "Time-limited test");
-        thread.setDaemon(true);
-        thread.start();
+        if (threadPooling) {
+            WORKERS.execute(task);
+        } else {
+            THREAD_FACTORY.newThread(task).start();
+        }
         callable.awaitStarted();
-        Throwable throwable = getResult(task, thread);
+        Throwable throwable = getResult(task, callable);
         if (throwable != null) {
             throw throwable;
         }
@@ -135,7 +186,7 @@ public class FailOnTimeout extends Statement {
      * test failed, an exception indicating a timeout if the test timed out, or
      * {@code null} if the test passed.
      */
-    private Throwable getResult(FutureTask<Throwable> task, Thread thread) {
+    private Throwable getResult(FutureTask<Throwable> task, CallableStatement callable) {
         try {
             if (timeout > 0) {
                 return task.get(timeout, timeUnit);
@@ -148,17 +199,18 @@ public class FailOnTimeout extends Statement {
             // test failed; have caller re-throw the exception thrown by the test
             return e.getCause();
         } catch (TimeoutException e) {
-            return createTimeoutException(thread);
+            return createTimeoutException(callable);
         }
     }
 
-    private Exception createTimeoutException(Thread thread) {
+    private Exception createTimeoutException(CallableStatement callable) {
+        Thread thread = callable.thread;
         StackTraceElement[] stackTrace = thread.getStackTrace();
-        final Thread stuckThread = lookForStuckThread ? getStuckThread(thread) : null;
+        final Thread stuckThread = lookForStuckThread ? getStuckThread(callable) : null;
         Exception currThreadException = new TestTimedOutException(timeout, timeUnit);
         if (stackTrace != null) {
             currThreadException.setStackTrace(stackTrace);
-            thread.interrupt();
+            callable.interruptIfRunning();
         }
         if (stuckThread != null) {
             Exception stuckThreadException = 
@@ -188,19 +240,18 @@ public class FailOnTimeout extends Statement {
 
     /**
      * Determines whether the test appears to be stuck in some thread other than
-     * the "main thread" (the one created to run the test).  This feature is experimental.
+     * the "main thread" (the one that runs the test).  Only threads that were started
+     * while the test was running are considered.  This feature is experimental.
      * Behavior may change after the 4.12 release in response to feedback.
-     * @param mainThread The main thread created by {@code evaluate()}
+     * @param callable The statement run by {@code evaluate()}
      * @return The thread which appears to be causing the problem, if different from
-     * {@code mainThread}, or {@code null} if the main thread appears to be the
+     * the main thread, or {@code null} if the main thread appears to be the
      * problem or if the thread cannot be determined.  The return value is never equal 
-     * to {@code mainThread}.
+     * to the main thread.
      */
-    private Thread getStuckThread(Thread mainThread) {
-        if (threadGroup == null) {
-            return null;
-        }
-        Thread[] threadsInGroup = getThreadArray(threadGroup);
+    private Thread getStuckThread(CallableStatement callable) {
+        Thread mainThread = callable.thread;
+        Thread[] threadsInGroup = getThreadArray(mainThread.getThreadGroup());
         if (threadsInGroup == null) {
             return null;
         }
@@ -213,7 +264,8 @@ public class FailOnTimeout extends Statement {
         Thread stuckThread = null;
         long maxCpuTime = 0;
         for (Thread thread : threadsInGroup) {
-            if (thread.getState() == Thread.State.RUNNABLE) {
+            if (thread.getState() == Thread.State.RUNNABLE
+                    && !callable.threadsStartedBefore.contains(thread)) {
                 long threadCpuTime = cpuTime(thread);
                 if (stuckThread == null || threadCpuTime > maxCpuTime) {
                     stuckThread = thread;
@@ -233,6 +285,9 @@ public class FailOnTimeout extends Statement {
      * extremely fast rate.
      */
     private Thread[] getThreadArray(ThreadGroup group) {
+        if (group == null) {
+            return null; // the main thread has terminated
+        }
         final int count = group.activeCount(); // this is just an estimate
         int enumSize = Math.max(count * 2, 100);
         int enumCount;
@@ -292,14 +347,43 @@ public class FailOnTimeout extends Statement {
     private class CallableStatement implements Callable<Throwable> {
         private final CountDownLatch startLatch = new CountDownLatch(1);
 
+        volatile Thread thread;
+
+        // Threads left behind in the thread group by earlier tests of a worker
+        volatile Collection<Thread> threadsStartedBefore = Collections.emptySet();
+
+        private final ClassLoader contextClassLoader;
+
+        private boolean finished = false;
+
+        CallableStatement(ClassLoader contextClassLoader) {
+            this.contextClassLoader = contextClassLoader;
+        }
+
         public Throwable call() throws Exception {
+            thread = Thread.currentThread();
+            ClassLoader workerClassLoader = thread.getContextClassLoader();
+            thread.setContextClassLoader(contextClassLoader);
             try {
+                if (lookForStuckThread) {
+                    Thread[] threads = getThreadArray(thread.getThreadGroup());
+                    if (threads != null) {
+                        threadsStartedBefore = new HashSet<Thread>(Arrays.asList(threads));
+                    }
+                }
                 startLatch.countDown();
                 originalStatement.evaluate();
             } catch (Exception e) {
                 throw e;
             } catch (Throwable e) {
                 return e;
+            } finally {
+                synchronized (this) {
+                    finished = true;
+                }
+                // The worker runs other tests next; don't pass a timeout on
+                Thread.interrupted();
+                thread.setContextClassLoader(workerClassLoader);
             }
             return null;
         }
@@ -307,5 +391,23 @@ public class FailOnTimeout extends Statement {
         public void awaitStarted() throws InterruptedException {
             startLatch.await();
         }
+
+        synchronized void interruptIfRunning() {
+            if (!finished) {
+                thread.interrupt();
+            }
+        }
+    }
+
+    private static class TimeLimitedThreadFactory implements ThreadFactory {
+        public Thread newThread(Runnable runnable) {
+            // Threads started by a test inherit the thread group of its worker,
+            // which is how getStuckThread() finds them
+            ThreadGroup threadGroup = new ThreadGroup("FailOnTimeoutGroup");
+            threadGroup.setDaemon(true);
+            Thread thread = new Thread(threadGroup, runnable, "Time-limited test");
+            thread.setDaemon(true);
+            return thread;
+        }
     }
 }
@@ -1,11 +1,16 @@
 package org.junit.runner;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -33,6 +38,19 @@ public class Description implements Serializable {
     private static final Pattern METHOD_AND_CLASS_NAME_PATTERN = Pattern
             .compile("([\\s\\S]*)\\((.*)\\)");
 
+    private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+
+    private static final List<Description> NO_CHILDREN = Collections.emptyList();
+
+    /*
+     * Incremented whenever a child is added to a Description that is itself
+     * the child of another Description. Cached test counts are only used
+     * while it is unchanged, because a child may be added to a descendant
+     * without the ancestors noticing. Building a tree from the leaves up does
+     * not change it.
+     */
+    private static final AtomicLong TREE_MODIFICATIONS = new AtomicLong();
+
     /**
      * Create a <code>Description</code> named <code>name</code>.
      * Generally, you will add children to this <code>Description</code>.
@@ -111,7 +129,7 @@ public class Description implements Serializable {
     }
 
     private static String formatDisplayName(String name, String className) {
-        return String.format("%s(%s)", name, className);
+        return name + "(" + className + ")";
     }
 
     /**
@@ -147,6 +165,12 @@ public class Description implements Serializable {
     private final Annotation[] fAnnotations;
     private volatile /* write-once */ Class<?> fTestClass;
 
+    // Caches derived from the fields above; not serialized
+    private transient volatile List<Description> childrenSnapshot;
+    private transient volatile ParsedName parsedName;
+    private transient volatile CachedCount cachedTestCount;
+    private transient volatile boolean isChild = false;
+
     private Description(Class<?> clazz, String displayName, Annotation... annotations) {
         this(clazz, displayName, displayName, annotations);
     }
@@ -163,7 +187,7 @@ public class Description implements Serializable {
         this.fTestClass = testClass;
         this.fDisplayName = displayName;
         this.fUniqueId = uniqueId;
-        this.fAnnotations = annotations;
+        this.fAnnotations = annotations != null && annotations.length == 0 ? NO_ANNOTATIONS : annotations;
     }
 
     /**
@@ -179,7 +203,14 @@ public class Description implements Serializable {
      * @param description the soon-to-be child.
      */
     public void addChild(Description description) {
-        fChildren.add(description);
+        synchronized (fChildren) {
+            fChildren.add(description);
+            childrenSnapshot = null;
+        }
+        description.isChild = true;
+        if (isChild) {
+            TREE_MODIFICATIONS.incrementAndGet();
+        }
     }
 
     /**
@@ -187,7 +218,27 @@ public class Description implements Serializable {
      * Returns an empty list if there are no children.
      */
     public ArrayList<Description> getChildren() {
-        return new ArrayList<Description>(fChildren);
+        return new ArrayList<Description>(getChildrenUnmodifiable());
+    }
+
+    /**
+     * Returns the children of this {@code Description} as an unmodifiable
+     * list. Unlike {@link #getChildren()}, this does not copy the children,
+     * as long as no child is added. Returns an empty list if there are no
+     * children.
+     *
+     * @since 4.12
+     */
+    public List<Description> getChildrenUnmodifiable() {
+        List<Description> result = childrenSnapshot;
+        if (result == null) {
+            synchronized (fChildren) {
+                result = fChildren.isEmpty() ? NO_CHILDREN : Collections.unmodifiableList(
+                        Arrays.asList(fChildren.toArray(new Description[fChildren.size()])));
+                childrenSnapshot = result;
+            }
+        }
+        return result;
     }
 
     /**
@@ -211,10 +262,18 @@ public class Description implements Serializable {
         if (isTest()) {
             return 1;
         }
+        long modifications = TREE_MODIFICATIONS.get();
+        List<Description> children = getChildrenUnmodifiable();
+        CachedCount cached = cachedTestCount;
+        if (cached != null && cached.children == children
+                && cached.modifications == modifications) {
+            return cached.count;
+        }
         int result = 0;
-        for (Description child : fChildren) {
-            result += child.testCount();
+        for (int i = 0; i < children.size(); i++) {
+            result += children.get(i).testCount();
         }
+        cachedTestCount = new CachedCount(result, children, modifications);
         return result;
     }
 
@@ -297,7 +356,7 @@ public class Description implements Serializable {
      *         the name of the class of the test instance
      */
     public String getClassName() {
-        return fTestClass != null ? fTestClass.getName() : methodAndClassNamePatternGroupOrDefault(2, toString());
+        return fTestClass != null ? fTestClass.getName() : parsedName().className;
     }
 
     /**
@@ -305,12 +364,47 @@ public class Description implements Serializable {
      *         the name of the method (or null if not)
      */
     public String getMethodName() {
-        return methodAndClassNamePatternGroupOrDefault(1, null);
+        return parsedName().methodName;
+    }
+
+    private ParsedName parsedName() {
+        ParsedName result = parsedName;
+        if (result == null) {
+            Matcher matcher = METHOD_AND_CLASS_NAME_PATTERN.matcher(toString());
+            result = matcher.matches()
+                    ? new ParsedName(matcher.group(1), matcher.group(2))
+                    : new ParsedName(null, toString());
+            parsedName = result;
+        }
+        return result;
     }
 
-    private String methodAndClassNamePatternGroupOrDefault(int group,
-            String defaultString) {
-        Matcher matcher = METHOD_AND_CLASS_NAME_PATTERN.matcher(toString());
-        return matcher.matches() ? matcher.group(group) : defaultString;
+    private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        for (Description each : fChildren) {
+            each.isChild = true;
+        }
+    }
+
+    private static final class ParsedName {
+        final String methodName;
+        final String className;
+
+        ParsedName(String methodName, String className) {
+            this.methodName = methodName;
+            this.className = className;
+        }
+    }
+
+    private static final class CachedCount {
+        final int count;
+        final List<Description> children;
+        final long modifications;
+
+        CachedCount(int count, List<Description> children, long modifications) {
+            this.count = count;
+            this.children = children;
+            this.modifications = modifications;
+        }
     }
 }
\ No newline at end of file
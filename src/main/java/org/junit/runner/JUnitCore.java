@@ -22,7 +22,29 @@ import org.junit.runner.notification.RunNotifier;
  * @since 4.0
  */
 public class JUnitCore {
-    private final RunNotifier notifier = new RunNotifier();
+    private final RunNotifier notifier;
+
+    /**
+     * Creates a facade that calls listeners which are not
+     * {@link RunListener.ThreadSafe thread-safe} one at a time, on the thread
+     * that fires the event.
+     */
+    public JUnitCore() {
+        this(false);
+    }
+
+    /**
+     * Creates a facade. If {@code asynchronousListeners} is {@code true},
+     * listeners which are not {@link RunListener.ThreadSafe thread-safe} are
+     * called on a dispatcher thread of their own, so that tests running in
+     * parallel do not wait for them.
+     *
+     * @see RunNotifier#RunNotifier(boolean)
+     * @since 4.12
+     */
+    public JUnitCore(boolean asynchronousListeners) {
+        notifier = new RunNotifier(asynchronousListeners);
+    }
 
     /**
      * Run the tests contained in the classes named in the <code>args</code>.
@@ -115,6 +137,20 @@ public class JUnitCore {
         return run(request.getRunner());
     }
 
+    /**
+     * Run all the tests contained in <code>request</code>, collecting the
+     * results in <code>result</code>. Use this to run tests with a
+     * {@link Result} that limits the memory used by failures.
+     *
+     * @param request the request describing tests
+     * @param result the result to collect the details of the test run in
+     * @return <code>result</code>
+     * @since 4.12
+     */
+    public Result run(Request request, Result result) {
+        return run(request.getRunner(), result);
+    }
+
     /**
      * Run all the tests contained in JUnit 3.8.x <code>test</code>. Here for backward compatibility.
      *
@@ -129,7 +165,10 @@ public class JUnitCore {
      * Do not use. Testing purposes only.
      */
     public Result run(Runner runner) {
-        Result result = new Result();
+        return run(runner, new Result());
+    }
+
+    private Result run(Runner runner, Result result) {
         RunListener listener = result.createListener();
         notifier.addFirstListener(listener);
         try {
@@ -1,18 +1,28 @@
 package org.junit.runner;
 
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.ObjectStreamClass;
 import java.io.ObjectStreamField;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.PrintWriter;
 import java.io.Serializable;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
+import org.junit.internal.AppendOnlyList;
 import org.junit.runner.notification.Failure;
 import org.junit.runner.notification.RunListener;
 
@@ -20,35 +30,97 @@ import org.junit.runner.notification.RunListener;
  * A <code>Result</code> collects and summarizes information from running multiple tests.
  * All tests are counted -- additional information is collected from tests that fail.
  *
+ * <p>By default all failures are kept with their exceptions. For runs that
+ * may have very many failures, {@link #Result(int)} and
+ * {@link #Result(int, int, File)} limit the memory used by the failures.
+ *
  * @since 4.0
  */
 public class Result implements Serializable {
     private static final long serialVersionUID = 1L;
     private static final ObjectStreamField[] serialPersistentFields =
             ObjectStreamClass.lookup(SerializedForm.class).getFields();
-    private final AtomicInteger count;
-    private final AtomicInteger ignoreCount;
-    private final CopyOnWriteArrayList<Failure> failures;
+    private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+    private final StripedCounter count;
+    private final StripedCounter ignoreCount;
+    private final AppendOnlyList<Failure> failures;
     private final AtomicLong runTime;
     private final AtomicLong startTime;
 
+    private final int fullFailures;
+    private final int maxFailures;
+    private final File spillFile;
+    private final AtomicInteger reportedFailures = new AtomicInteger();
+    private final AtomicInteger spilledFailures = new AtomicInteger();
+    private final Map<StackTraceElement, StackTraceElement> frames =
+            new HashMap<StackTraceElement, StackTraceElement>();
+    private Writer spillWriter;
+    // The first failure to write the spill file; guarded by this
+    private IOException spillFailure;
+    // Whether spillFailure has been added to the failures; guarded by this
+    private boolean spillFailureRecorded;
+
     /** Only set during deserialization process. */
     private SerializedForm serializedForm;
 
     public Result() {
-        count = new AtomicInteger();
-        ignoreCount = new AtomicInteger();
-        failures = new CopyOnWriteArrayList<Failure>();
+        this(Integer.MAX_VALUE, Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * Creates a result that keeps the exceptions of the first
+     * {@code fullFailures} failures only. Of the exceptions of later failures
+     * only the class name, the message and the stack trace are kept, without
+     * causes, and stack frames that occur in several failures are stored
+     * once.
+     *
+     * @throws IllegalArgumentException if {@code fullFailures} is negative
+     * @since 4.12
+     */
+    public Result(int fullFailures) {
+        this(fullFailures, Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * Creates a result that keeps at most {@code maxFailures} failures in
+     * memory, of which the first {@code fullFailures} are kept with their
+     * exceptions, as described in {@link #Result(int)}. Further failures are
+     * counted, and, if {@code spillFile} is not {@code null}, written to
+     * {@code spillFile} as text. {@link #getFailureCount()} counts all
+     * failures, {@link #getFailures()} returns the ones kept in memory. If
+     * {@code spillFile} cannot be written, the first exception is returned by
+     * {@link #getSpillFailure()} and, when the run finishes, added to the
+     * failures of this result as a failure of
+     * {@link Description#TEST_MECHANISM}.
+     *
+     * @throws IllegalArgumentException if {@code fullFailures} is negative or
+     * {@code maxFailures} is less than {@code fullFailures}
+     * @since 4.12
+     */
+    public Result(int fullFailures, int maxFailures, File spillFile) {
+        if (fullFailures < 0 || maxFailures < fullFailures) {
+            throw new IllegalArgumentException("Invalid failure limits: "
+                    + fullFailures + " full failures, " + maxFailures + " failures");
+        }
+        count = new StripedCounter();
+        ignoreCount = new StripedCounter();
+        failures = new AppendOnlyList<Failure>();
         runTime = new AtomicLong();
         startTime = new AtomicLong();
+        this.fullFailures = fullFailures;
+        this.maxFailures = maxFailures;
+        this.spillFile = spillFile;
     }
 
     private Result(SerializedForm serializedForm) {
-        count = serializedForm.fCount;
-        ignoreCount = serializedForm.fIgnoreCount;
-        failures = new CopyOnWriteArrayList<Failure>(serializedForm.fFailures);
-        runTime = new AtomicLong(serializedForm.fRunTime);
-        startTime = new AtomicLong(serializedForm.fStartTime);
+        this();
+        count.add(serializedForm.fCount.get());
+        ignoreCount.add(serializedForm.fIgnoreCount.get());
+        for (Failure each : serializedForm.fFailures) {
+            failures.add(each);
+        }
+        runTime.set(serializedForm.fRunTime);
+        startTime.set(serializedForm.fStartTime);
     }
 
     /**
@@ -62,7 +134,7 @@ public class Result implements Serializable {
      * @return the number of tests that failed during the run
      */
     public int getFailureCount() {
-        return failures.size();
+        return failures.size() + spilledFailures.get();
     }
 
     /**
@@ -73,10 +145,20 @@ public class Result implements Serializable {
     }
 
     /**
-     * @return the {@link Failure}s describing tests that failed and the problems they encountered
+     * @return the {@link Failure}s describing tests that failed and the problems they encountered.
+     *         The list cannot be modified, but grows while the tests run.
      */
     public List<Failure> getFailures() {
-        return failures;
+        return Collections.unmodifiableList(failures);
+    }
+
+    /**
+     * @return the first exception that occurred while failures were written
+     *         to the spill file, or {@code null} if there was none
+     * @since 4.12
+     */
+    public synchronized IOException getSpillFailure() {
+        return spillFailure;
     }
 
     /**
@@ -118,21 +200,22 @@ public class Result implements Serializable {
         public void testRunFinished(Result result) throws Exception {
             long endTime = System.currentTimeMillis();
             runTime.addAndGet(endTime - startTime.get());
+            closeSpillFile();
         }
 
         @Override
         public void testFinished(Description description) throws Exception {
-            count.getAndIncrement();
+            count.increment();
         }
 
         @Override
         public void testFailure(Failure failure) throws Exception {
-            failures.add(failure);
+            addFailure(failure);
         }
 
         @Override
         public void testIgnored(Description description) throws Exception {
-            ignoreCount.getAndIncrement();
+            ignoreCount.increment();
         }
 
         @Override
@@ -148,6 +231,153 @@ public class Result implements Serializable {
         return new Listener();
     }
 
+    private void addFailure(Failure failure) {
+        int index = reportedFailures.getAndIncrement();
+        if (index < fullFailures) {
+            failures.add(failure);
+        } else if (index < maxFailures) {
+            failures.add(compact(failure));
+        } else {
+            spilledFailures.incrementAndGet();
+            if (spillFile != null) {
+                spill(compact(failure));
+            }
+        }
+    }
+
+    private Failure compact(Failure failure) {
+        Throwable exception = failure.getException();
+        StackTraceElement[] trace = exception.getStackTrace();
+        synchronized (frames) {
+            for (int i = 0; i < trace.length; i++) {
+                StackTraceElement frame = frames.get(trace[i]);
+                if (frame == null) {
+                    frames.put(trace[i], trace[i]);
+                } else {
+                    trace[i] = frame;
+                }
+            }
+        }
+        return new Failure(failure.getDescription(), new CompactException(
+                exception.getClass().getName(), exception.getMessage(), trace));
+    }
+
+    private synchronized void spill(Failure failure) {
+        if (spillFailure != null) {
+            // The failure is still counted
+            return;
+        }
+        try {
+            if (spillWriter == null) {
+                spillWriter = new BufferedWriter(new OutputStreamWriter(
+                        new FileOutputStream(spillFile), "UTF-8"));
+            }
+            spillWriter.write(failure.getTestHeader());
+            spillWriter.write(LINE_SEPARATOR);
+            spillWriter.write(failure.getTrace());
+        } catch (IOException e) {
+            spillFailure = e;
+        }
+    }
+
+    /**
+     * Closes the spill file, and adds the first exception that occurred while
+     * writing it to the failures. The exception is not thrown, because the
+     * notifier would then remove this result's listener and report the
+     * failure to the other listeners only.
+     */
+    private synchronized void closeSpillFile() {
+        if (spillWriter != null) {
+            try {
+                spillWriter.close();
+            } catch (IOException e) {
+                if (spillFailure == null) {
+                    spillFailure = e;
+                }
+            }
+            spillWriter = null;
+        }
+        if (spillFailure != null && !spillFailureRecorded) {
+            spillFailureRecorded = true;
+            failures.add(new Failure(Description.TEST_MECHANISM, spillFailure));
+        }
+    }
+
+    private static final class StripedCounter {
+        private static final int STRIPES = 16;
+
+        // Keeps each stripe on its own cache line
+        private static final int STRIDE = 8;
+
+        private final AtomicLongArray cells = new AtomicLongArray(STRIPES * STRIDE);
+
+        void increment() {
+            add(1);
+        }
+
+        void add(long delta) {
+            int stripe = (int) (Thread.currentThread().getId() & (STRIPES - 1));
+            cells.addAndGet(stripe * STRIDE, delta);
+        }
+
+        int get() {
+            long sum = 0;
+            for (int i = 0; i < STRIPES; i++) {
+                sum += cells.get(i * STRIDE);
+            }
+            return (int) sum;
+        }
+    }
+
+    /**
+     * What is kept of an exception when only a compact form is kept. It
+     * prints like the original exception, without its causes.
+     */
+    private static final class CompactException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        private final String className;
+
+        private final StackTraceElement[] trace;
+
+        CompactException(String className, String message, StackTraceElement[] trace) {
+            super(message);
+            this.className = className;
+            this.trace = trace;
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+
+        @Override
+        public StackTraceElement[] getStackTrace() {
+            return trace.clone();
+        }
+
+        @Override
+        public void printStackTrace(PrintWriter writer) {
+            writer.println(this);
+            for (StackTraceElement each : trace) {
+                writer.println("\tat " + each);
+            }
+        }
+
+        @Override
+        public void printStackTrace(PrintStream stream) {
+            PrintWriter writer = new PrintWriter(stream);
+            printStackTrace(writer);
+            writer.flush();
+        }
+
+        @Override
+        public String toString() {
+            String message = getLocalizedMessage();
+            return message != null ? className + ": " + message : className;
+        }
+    }
+
     /**
      * Represents the serialized output of {@code Result}. The fields on this
      * class match the files that {@code Result} had in JUnit 4.11.
@@ -161,8 +391,8 @@ public class Result implements Serializable {
         private final long fStartTime;
 
         public SerializedForm(Result result) {
-            fCount = result.count;
-            fIgnoreCount = result.ignoreCount;
+            fCount = new AtomicInteger(result.count.get());
+            fIgnoreCount = new AtomicInteger(result.ignoreCount.get());
             fFailures = Collections.synchronizedList(new ArrayList<Failure>(result.failures));
             fRunTime = result.runTime.longValue();
             fStartTime = result.startTime.longValue();
@@ -0,0 +1,317 @@
+package org.junit.runner.notification;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.runner.Description;
+import org.junit.runner.Result;
+
+/**
+ * Thread-safe decorator for {@link RunListener} implementations that hands the
+ * events to a dispatcher thread instead of calling the delegate directly.
+ *
+ * <p>Events are put into a bounded ring buffer that is read by a single
+ * dispatcher thread, which calls the delegate one event at a time and in the
+ * order the events were published. Threads that fire events never wait for
+ * each other, unless the buffer is full. The dispatcher thread is started on
+ * demand and terminates when it has been idle for a while.
+ *
+ * <p>{@link #testRunFinished(Result)} waits until the delegate has handled
+ * all events, so that the delegate's output is complete when the run ends.
+ * When the listener is removed from the notifier, {@link #close()} waits for
+ * the events published before, and drops any later ones. Exceptions thrown
+ * by the delegate are reported to the other listeners of the notifier, as if
+ * the delegate had been called directly.
+ *
+ * @since 4.12
+ * @see RunNotifier#RunNotifier(boolean)
+ */
+@RunListener.ThreadSafe
+final class AsynchronousRunListener extends RunListener {
+    private static final int CAPACITY = 1024;
+
+    private static final int MASK = CAPACITY - 1;
+
+    private static final long KEEP_ALIVE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final int TEST_RUN_STARTED = 1;
+
+    private static final int TEST_RUN_FINISHED = 2;
+
+    private static final int TEST_STARTED = 3;
+
+    private static final int TEST_FINISHED = 4;
+
+    private static final int TEST_FAILURE = 5;
+
+    private static final int TEST_ASSUMPTION_FAILURE = 6;
+
+    private static final int TEST_IGNORED = 7;
+
+    private final RunListener listener;
+
+    private final RunNotifier notifier;
+
+    // A slot is published by setting its kind, and freed by resetting it to 0
+    private final AtomicIntegerArray kinds = new AtomicIntegerArray(CAPACITY);
+
+    private final Object[] arguments = new Object[CAPACITY];
+
+    private final AtomicLong published = new AtomicLong();
+
+    // Written by the dispatcher thread only
+    private volatile long delivered = 0;
+
+    // Events with this or a higher sequence are dropped
+    private volatile long closedAt = Long.MAX_VALUE;
+
+    // Threads waiting for delivered to advance wait on this lock
+    private final Object deliveredLock = new Object();
+
+    private final AtomicInteger waitingThreads = new AtomicInteger();
+
+    private final AtomicBoolean dispatcherRunning = new AtomicBoolean(false);
+
+    private volatile Thread dispatcher;
+
+    private volatile boolean dispatcherParked = false;
+
+    AsynchronousRunListener(RunListener listener, RunNotifier notifier) {
+        this.listener = listener;
+        this.notifier = notifier;
+    }
+
+    @Override
+    public void testRunStarted(Description description) {
+        publish(TEST_RUN_STARTED, description);
+    }
+
+    @Override
+    public void testRunFinished(Result result) {
+        long sequence = publish(TEST_RUN_FINISHED, result);
+        if (sequence >= 0) {
+            awaitDelivered(sequence);
+        }
+    }
+
+    @Override
+    public void testStarted(Description description) {
+        publish(TEST_STARTED, description);
+    }
+
+    @Override
+    public void testFinished(Description description) {
+        publish(TEST_FINISHED, description);
+    }
+
+    @Override
+    public void testFailure(Failure failure) {
+        publish(TEST_FAILURE, failure);
+    }
+
+    @Override
+    public void testAssumptionFailure(Failure failure) {
+        publish(TEST_ASSUMPTION_FAILURE, failure);
+    }
+
+    @Override
+    public void testIgnored(Description description) {
+        publish(TEST_IGNORED, description);
+    }
+
+    /**
+     * Stops delivering events that are published from now on, and waits until
+     * the events published before have been delivered. If the delegate closes
+     * the listener while it handles an event, no later event is delivered, as
+     * if it had been called directly.
+     */
+    void close() {
+        if (Thread.currentThread() == dispatcher) {
+            // delivered is the sequence of the event that is being handled
+            closedAt = delivered + 1;
+        } else {
+            closedAt = published.get();
+            awaitDelivered(closedAt - 1);
+        }
+    }
+
+    /**
+     * Returns the sequence number of the event, or {@code -1} if the listener
+     * has been closed and the event is dropped.
+     */
+    private long publish(int kind, Object argument) {
+        if (closedAt != Long.MAX_VALUE) {
+            return -1;
+        }
+        long sequence = published.getAndIncrement();
+        if (sequence - delivered >= CAPACITY) {
+            awaitDelivered(sequence - CAPACITY);
+        }
+        int index = (int) (sequence & MASK);
+        arguments[index] = argument;
+        kinds.set(index, kind);
+        wakeDispatcher();
+        return sequence;
+    }
+
+    /**
+     * Waits until the event with the given sequence number has been delivered.
+     */
+    private void awaitDelivered(long sequence) {
+        if (delivered > sequence) {
+            return;
+        }
+        wakeDispatcher();
+        boolean interrupted = false;
+        synchronized (deliveredLock) {
+            waitingThreads.incrementAndGet();
+            try {
+                while (delivered <= sequence) {
+                    try {
+                        deliveredLock.wait();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            } finally {
+                waitingThreads.decrementAndGet();
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void wakeDispatcher() {
+        if (dispatcherRunning.compareAndSet(false, true)) {
+            Thread thread = new Thread(new Dispatcher(), "RunListener dispatcher for " + listener);
+            thread.setDaemon(true);
+            dispatcher = thread;
+            thread.start();
+        } else if (dispatcherParked) {
+            LockSupport.unpark(dispatcher);
+        }
+    }
+
+    private class Dispatcher implements Runnable {
+        public void run() {
+            boolean stopped = false;
+            try {
+                long sequence = delivered;
+                while (true) {
+                    int index = (int) (sequence & MASK);
+                    int kind = kinds.get(index);
+                    if (kind == 0) {
+                        if (awaitEvent(index)) {
+                            continue;
+                        } else {
+                            stopped = true;
+                            return;
+                        }
+                    }
+                    Object argument = arguments[index];
+                    try {
+                        if (sequence < closedAt) {
+                            deliver(kind, argument);
+                        }
+                    } finally {
+                        arguments[index] = null;
+                        kinds.set(index, 0);
+                        delivered = ++sequence;
+                        if (waitingThreads.get() > 0) {
+                            synchronized (deliveredLock) {
+                                deliveredLock.notifyAll();
+                            }
+                        }
+                    }
+                }
+            } finally {
+                if (!stopped) {
+                    // Reporting a failure of the delegate to the other
+                    // listeners failed. Let another dispatcher deliver the
+                    // remaining events, so that nobody waits for them forever.
+                    dispatcherRunning.set(false);
+                    if (kinds.get((int) (delivered & MASK)) != 0) {
+                        wakeDispatcher();
+                    }
+                }
+            }
+        }
+
+        /**
+         * Parks until the slot at {@code index} is published. Returns
+         * {@code false} if this dispatcher has been idle for too long and has
+         * stopped.
+         */
+        private boolean awaitEvent(int index) {
+            dispatcherParked = true;
+            if (kinds.get(index) == 0) {
+                LockSupport.parkNanos(KEEP_ALIVE_NANOS);
+            }
+            dispatcherParked = false;
+            if (kinds.get(index) != 0) {
+                return true;
+            }
+            dispatcherRunning.set(false);
+            // An event may have been published after the last check, while
+            // this dispatcher was still marked as running.
+            return kinds.get(index) != 0 && dispatcherRunning.compareAndSet(false, true);
+        }
+    }
+
+    private void deliver(int kind, Object argument) {
+        try {
+            switch (kind) {
+                case TEST_RUN_STARTED:
+                    listener.testRunStarted((Description) argument);
+                    break;
+                case TEST_RUN_FINISHED:
+                    listener.testRunFinished((Result) argument);
+                    break;
+                case TEST_STARTED:
+                    listener.testStarted((Description) argument);
+                    break;
+                case TEST_FINISHED:
+                    listener.testFinished((Description) argument);
+                    break;
+                case TEST_FAILURE:
+                    listener.testFailure((Failure) argument);
+                    break;
+                case TEST_ASSUMPTION_FAILURE:
+                    listener.testAssumptionFailure((Failure) argument);
+                    break;
+                default:
+                    listener.testIgnored((Description) argument);
+            }
+        } catch (Throwable e) {
+            notifier.fireListenerFailure(this, new Failure(Description.TEST_MECHANISM, e));
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return listener.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof AsynchronousRunListener)) {
+            return false;
+        }
+        AsynchronousRunListener that = (AsynchronousRunListener) other;
+
+        return listener.equals(that.listener);
+    }
+
+    @Override
+    public String toString() {
+        return listener.toString() + " (with asynchronous dispatch)";
+    }
+}
@@ -4,7 +4,6 @@ import static java.util.Arrays.asList;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.junit.runner.Description;
 import org.junit.runner.Result;
@@ -19,9 +18,101 @@ import org.junit.runner.Result;
  * @since 4.0
  */
 public class RunNotifier {
-    private final List<RunListener> listeners = new CopyOnWriteArrayList<RunListener>();
+    private static final RunListener[] NO_LISTENERS = new RunListener[0];
+
+    private final Object listenersLock = new Object();
+
+    // Replaced, never modified, while holding listenersLock
+    private volatile RunListener[] listeners = NO_LISTENERS;
+
+    private final boolean asynchronous;
+
     private volatile boolean pleaseStop = false;
 
+    private final SafeNotifier<Description> testRunStarted = new SafeNotifier<Description>() {
+        @Override
+        protected void notifyListener(RunListener each, Description description) throws Exception {
+            each.testRunStarted(description);
+        }
+    };
+
+    private final SafeNotifier<Result> testRunFinished = new SafeNotifier<Result>() {
+        @Override
+        protected void notifyListener(RunListener each, Result result) throws Exception {
+            each.testRunFinished(result);
+        }
+    };
+
+    private final SafeNotifier<Description> testStarted = new SafeNotifier<Description>() {
+        @Override
+        protected void notifyListener(RunListener each, Description description) throws Exception {
+            each.testStarted(description);
+        }
+    };
+
+    private final SafeNotifier<Failure> testFailure = new SafeNotifier<Failure>() {
+        @Override
+        protected void notifyListener(RunListener each, Failure failure) throws Exception {
+            each.testFailure(failure);
+        }
+    };
+
+    private final SafeNotifier<List<Failure>> testFailures = new SafeNotifier<List<Failure>>() {
+        @Override
+        protected void notifyListener(RunListener each, List<Failure> failures) throws Exception {
+            for (Failure failure : failures) {
+                each.testFailure(failure);
+            }
+        }
+    };
+
+    private final SafeNotifier<Failure> testAssumptionFailed = new SafeNotifier<Failure>() {
+        @Override
+        protected void notifyListener(RunListener each, Failure failure) throws Exception {
+            each.testAssumptionFailure(failure);
+        }
+    };
+
+    private final SafeNotifier<Description> testIgnored = new SafeNotifier<Description>() {
+        @Override
+        protected void notifyListener(RunListener each, Description description) throws Exception {
+            each.testIgnored(description);
+        }
+    };
+
+    private final SafeNotifier<Description> testFinished = new SafeNotifier<Description>() {
+        @Override
+        protected void notifyListener(RunListener each, Description description) throws Exception {
+            each.testFinished(description);
+        }
+    };
+
+    /**
+     * Creates a notifier that calls listeners which are not
+     * {@link RunListener.ThreadSafe thread-safe} one at a time, on the thread
+     * that fires the event.
+     */
+    public RunNotifier() {
+        this(false);
+    }
+
+    /**
+     * Creates a notifier. If {@code asynchronous} is {@code true}, listeners
+     * which are not {@link RunListener.ThreadSafe thread-safe} are called on
+     * a dispatcher thread of their own, so that tests running in parallel do
+     * not wait for each other while such a listener handles an event. Each
+     * listener still receives the events one at a time and in the order they
+     * were fired, and all the events have been delivered when
+     * {@link #fireTestRunFinished(Result)} returns. When such a listener is
+     * {@link #removeListener(RunListener) removed}, the events fired before
+     * are delivered before the method returns, and later ones are not.
+     *
+     * @since 4.12
+     */
+    public RunNotifier(boolean asynchronous) {
+        this.asynchronous = asynchronous;
+    }
+
     /**
      * Internal use only
      */
@@ -29,7 +120,14 @@ public class RunNotifier {
         if (listener == null) {
             throw new NullPointerException("Cannot add a null listener");
         }
-        listeners.add(wrapIfNotThreadSafe(listener));
+        RunListener wrapped = wrapIfNotThreadSafe(listener);
+        synchronized (listenersLock) {
+            RunListener[] current = listeners;
+            RunListener[] updated = new RunListener[current.length + 1];
+            System.arraycopy(current, 0, updated, 0, current.length);
+            updated[current.length] = wrapped;
+            listeners = updated;
+        }
     }
 
     /**
@@ -39,70 +137,88 @@ public class RunNotifier {
         if (listener == null) {
             throw new NullPointerException("Cannot remove a null listener");
         }
-        listeners.remove(wrapIfNotThreadSafe(listener));
+        RunListener wrapped = wrapIfNotThreadSafe(listener);
+        RunListener removed = null;
+        synchronized (listenersLock) {
+            RunListener[] current = listeners;
+            for (int i = 0; i < current.length; i++) {
+                if (wrapped.equals(current[i])) {
+                    removed = current[i];
+                    RunListener[] updated = new RunListener[current.length - 1];
+                    System.arraycopy(current, 0, updated, 0, i);
+                    System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                    listeners = updated;
+                    break;
+                }
+            }
+        }
+        if (removed instanceof AsynchronousRunListener) {
+            // Events fired before the removal are still delivered, later ones not
+            ((AsynchronousRunListener) removed).close();
+        }
     }
 
     /**
-     * Wraps the given listener with {@link SynchronizedRunListener} if
+     * Wraps the given listener with {@link SynchronizedRunListener} (or with
+     * {@link AsynchronousRunListener} if this notifier is asynchronous) if
      * it is not annotated with {@link RunListener.ThreadSafe}.
      */
     RunListener wrapIfNotThreadSafe(RunListener listener) {
-        return listener.getClass().isAnnotationPresent(RunListener.ThreadSafe.class) ?
-                listener : new SynchronizedRunListener(listener, this);
-    }
-
-
-    private abstract class SafeNotifier {
-        private final List<RunListener> currentListeners;
-
-        SafeNotifier() {
-            this(listeners);
+        if (listener.getClass().isAnnotationPresent(RunListener.ThreadSafe.class)) {
+            return listener;
         }
+        return asynchronous ? new AsynchronousRunListener(listener, this)
+                : new SynchronizedRunListener(listener, this);
+    }
 
-        SafeNotifier(List<RunListener> currentListeners) {
-            this.currentListeners = currentListeners;
+    /**
+     * Calls one method of each listener. Does not allocate unless a listener
+     * throws an exception.
+     */
+    private abstract class SafeNotifier<T> {
+        void run(T argument) {
+            run(listeners, argument);
         }
 
-        void run() {
-            int capacity = currentListeners.size();
-            ArrayList<RunListener> safeListeners = new ArrayList<RunListener>(capacity);
-            ArrayList<Failure> failures = new ArrayList<Failure>(capacity);
-            for (RunListener listener : currentListeners) {
+        void run(RunListener[] currentListeners, T argument) {
+            List<RunListener> safeListeners = null;
+            List<Failure> failures = null;
+            for (int i = 0; i < currentListeners.length; i++) {
+                RunListener listener = currentListeners[i];
                 try {
-                    notifyListener(listener);
-                    safeListeners.add(listener);
+                    notifyListener(listener, argument);
+                    if (safeListeners != null) {
+                        safeListeners.add(listener);
+                    }
                 } catch (Exception e) {
+                    if (failures == null) {
+                        failures = new ArrayList<Failure>();
+                        safeListeners = new ArrayList<RunListener>(currentListeners.length);
+                        safeListeners.addAll(asList(currentListeners).subList(0, i));
+                    }
                     failures.add(new Failure(Description.TEST_MECHANISM, e));
                 }
             }
-            fireTestFailures(safeListeners, failures);
+            if (failures != null) {
+                fireTestFailures(safeListeners, failures);
+            }
         }
 
-        abstract protected void notifyListener(RunListener each) throws Exception;
+        abstract protected void notifyListener(RunListener each, T argument) throws Exception;
     }
 
     /**
      * Do not invoke.
      */
     public void fireTestRunStarted(final Description description) {
-        new SafeNotifier() {
-            @Override
-            protected void notifyListener(RunListener each) throws Exception {
-                each.testRunStarted(description);
-            }
-        }.run();
+        testRunStarted.run(description);
     }
 
     /**
      * Do not invoke.
      */
     public void fireTestRunFinished(final Result result) {
-        new SafeNotifier() {
-            @Override
-            protected void notifyListener(RunListener each) throws Exception {
-                each.testRunFinished(result);
-            }
-        }.run();
+        testRunFinished.run(result);
     }
 
     /**
@@ -115,12 +231,7 @@ public class RunNotifier {
         if (pleaseStop) {
             throw new StoppedByUserException();
         }
-        new SafeNotifier() {
-            @Override
-            protected void notifyListener(RunListener each) throws Exception {
-                each.testStarted(description);
-            }
-        }.run();
+        testStarted.run(description);
     }
 
     /**
@@ -129,23 +240,26 @@ public class RunNotifier {
      * @param failure the description of the test that failed and the exception thrown
      */
     public void fireTestFailure(Failure failure) {
-        fireTestFailures(listeners, asList(failure));
+        testFailure.run(failure);
     }
 
     private void fireTestFailures(List<RunListener> listeners,
             final List<Failure> failures) {
         if (!failures.isEmpty()) {
-            new SafeNotifier(listeners) {
-                @Override
-                protected void notifyListener(RunListener listener) throws Exception {
-                    for (Failure each : failures) {
-                        listener.testFailure(each);
-                    }
-                }
-            }.run();
+            testFailures.run(listeners.toArray(new RunListener[listeners.size()]), failures);
         }
     }
 
+    /**
+     * Tells all listeners but {@code failedListener} about {@code failure},
+     * which was caused by {@code failedListener} itself.
+     */
+    void fireListenerFailure(RunListener failedListener, Failure failure) {
+        List<RunListener> otherListeners = new ArrayList<RunListener>(asList(listeners));
+        otherListeners.remove(failedListener);
+        fireTestFailures(otherListeners, asList(failure));
+    }
+
     /**
      * Invoke to tell listeners that an atomic test flagged that it assumed
      * something false.
@@ -154,12 +268,7 @@ public class RunNotifier {
      * {@link org.junit.AssumptionViolatedException} thrown
      */
     public void fireTestAssumptionFailed(final Failure failure) {
-        new SafeNotifier() {
-            @Override
-            protected void notifyListener(RunListener each) throws Exception {
-                each.testAssumptionFailure(failure);
-            }
-        }.run();
+        testAssumptionFailed.run(failure);
     }
 
     /**
@@ -168,12 +277,7 @@ public class RunNotifier {
      * @param description the description of the ignored test
      */
     public void fireTestIgnored(final Description description) {
-        new SafeNotifier() {
-            @Override
-            protected void notifyListener(RunListener each) throws Exception {
-                each.testIgnored(description);
-            }
-        }.run();
+        testIgnored.run(description);
     }
 
     /**
@@ -184,12 +288,7 @@ public class RunNotifier {
      * @param description the description of the test that finished
      */
     public void fireTestFinished(final Description description) {
-        new SafeNotifier() {
-            @Override
-            protected void notifyListener(RunListener each) throws Exception {
-                each.testFinished(description);
-            }
-        }.run();
+        testFinished.run(description);
     }
 
     /**
@@ -209,6 +308,13 @@ public class RunNotifier {
         if (listener == null) {
             throw new NullPointerException("Cannot add a null listener");
         }
-        listeners.add(0, wrapIfNotThreadSafe(listener));
+        RunListener wrapped = wrapIfNotThreadSafe(listener);
+        synchronized (listenersLock) {
+            RunListener[] current = listeners;
+            RunListener[] updated = new RunListener[current.length + 1];
+            updated[0] = wrapped;
+            System.arraycopy(current, 0, updated, 1, current.length);
+            listeners = updated;
+        }
     }
 }
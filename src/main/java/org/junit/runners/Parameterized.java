@@ -9,11 +9,26 @@ import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
 
+import org.junit.Test;
+import org.junit.internal.runners.SharedSchedulerPool;
+import org.junit.rules.RunRules;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
 import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.manipulation.Sorter;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runner.notification.StoppedByUserException;
 import org.junit.runners.model.FrameworkMethod;
 import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.RunnerScheduler;
+import org.junit.runners.model.Statement;
 import org.junit.runners.model.TestClass;
 import org.junit.runners.parameterized.BlockJUnit4ClassRunnerWithParametersFactory;
 import org.junit.runners.parameterized.ParametersRunnerFactory;
@@ -130,6 +145,20 @@ import org.junit.runners.parameterized.TestWithParameters;
  * }
  * </pre>
  *
+ * <h3>Very large numbers of parameters</h3>
+ * <p>
+ * By default all sets of parameters and their runners are created up front.
+ * If there are too many of them to keep in memory, let the
+ * {@code Parameters} method return an {@code Iterable} that generates them on
+ * demand and set {@link Parameters#streaming()}. The sets of parameters are
+ * then pulled and run one at a time.
+ * <pre>
+ * &#064;Parameters(streaming = true)
+ * public static Iterable&lt;Object[]&gt; data() {
+ * 	return new LargeDataSet();
+ * }
+ * </pre>
+ *
  * <h3>Create different runners</h3>
  * <p>
  * By default the {@code Parameterized} runner creates a slightly modified
@@ -190,6 +219,63 @@ public class Parameterized extends Suite {
          * @see MessageFormat
          */
         String name() default "{index}";
+
+        /**
+         * Whether the parameters are pulled one row at a time while the tests
+         * run, instead of all at once when the runner is created. In streaming
+         * mode the runner for a row is created just before the row's tests
+         * run and is released together with the row's parameters afterwards,
+         * so the method may return an {@code Iterable} that generates a very
+         * large number of rows on demand.
+         * <p>
+         * Filters and sorters are applied to each row when it is created. The
+         * rows themselves always run in the order of the {@code Iterable}.
+         * Default value is {@code false}.
+         *
+         * @since 4.12
+         */
+        boolean streaming() default false;
+
+        /**
+         * Whether a streaming runner's {@link Description} lists the rows and
+         * their tests, so listeners are told the number of tests before the
+         * run starts. Otherwise the description of the class lists the test
+         * methods of the class, without the rows, so that filters that select
+         * classes or categories still match it.
+         * <p>
+         * The rows are described by a separate pass over the {@code Iterable}
+         * returned by the parameters method, so it must support more than one
+         * iteration. Describing the rows pulls all of them and keeps a
+         * description of each row, and creates a runner for each row, which
+         * is released again. Each row's runner is therefore created twice,
+         * once when the rows are described and once when the row runs. The
+         * rows are described again when the runner is filtered or sorted. If
+         * pulling or describing the rows fails, the failure is reported
+         * against the class when the tests are run.
+         * Ignored unless {@link #streaming()} is {@code true}. Default value
+         * is {@code false}.
+         *
+         * @since 4.12
+         */
+        boolean describeUpFront() default false;
+
+        /**
+         * The maximum number of sets of parameters that run at the same time.
+         * With a value greater than one the runners for the sets of
+         * parameters are run concurrently by a pool of {@code parallelism}
+         * worker threads, while the thread that runs the class waits for
+         * them. All classes with the same parallelism share one pool, so
+         * together they never run more than {@code parallelism} sets of
+         * parameters at the same time. {@code @BeforeClass} and
+         * {@code @AfterClass} methods and class rules still run once, around
+         * all of them. In streaming mode a new set of parameters is pulled
+         * as soon as one of the at most {@code 4 * parallelism} pulled sets
+         * has finished. Default value is 1, which runs the sets of parameters
+         * one after another.
+         *
+         * @since 4.12
+         */
+        int parallelism() default 1;
     }
 
     /**
@@ -234,19 +320,67 @@ public class Parameterized extends Suite {
 
     private static final List<Runner> NO_RUNNERS = Collections.<Runner>emptyList();
 
+    // Shared by all classes with the same parallelism
+    private static final Map<Integer, SharedSchedulerPool> POOLS = new HashMap<Integer, SharedSchedulerPool>();
+
     private final List<Runner> runners;
 
+    private final Parameters parameters;
+
+    private final ParametersRunnerFactory runnerFactory;
+
+    private final List<Filter> rowFilters = new ArrayList<Filter>();
+
+    private final List<Sorter> rowSorters = new ArrayList<Sorter>();
+
+    private volatile Description streamingDescription;
+
+    // The result of the parameters method of a streaming runner; guarded by
+    // rowFilters
+    private Iterable<Object> streamedParameters;
+
+    // Guarded by rowFilters
+    private Throwable describeFailure;
+
+    private final SharedSchedulerPool pool;
+
     /**
      * Only called reflectively. Do not use programmatically.
      */
     public Parameterized(Class<?> klass) throws Throwable {
         super(klass, NO_RUNNERS);
-        ParametersRunnerFactory runnerFactory = getParametersRunnerFactory(
-                klass);
-        Parameters parameters = getParametersMethod().getAnnotation(
-                Parameters.class);
-        runners = Collections.unmodifiableList(createRunnersForParameters(
-                allParameters(), parameters.name(), runnerFactory));
+        runnerFactory = getParametersRunnerFactory(klass);
+        parameters = getParametersMethod().getAnnotation(Parameters.class);
+        pool = createPool(parameters.parallelism());
+        if (pool != null) {
+            setScheduler(pool.newScheduler());
+        }
+        if (parameters.streaming()) {
+            runners = NO_RUNNERS;
+        } else {
+            runners = Collections.unmodifiableList(createRunnersForParameters(
+                    allParameters(), parameters.name(), runnerFactory));
+        }
+    }
+
+    private SharedSchedulerPool createPool(int parallelism) throws Exception {
+        if (parallelism < 1) {
+            throw new Exception(MessageFormat.format(
+                    "{0}.{1}() must have a positive parallelism, but has {2}.",
+                    getTestClass().getName(), getParametersMethod().getName(),
+                    parallelism));
+        }
+        if (parallelism == 1) {
+            return null;
+        }
+        synchronized (POOLS) {
+            SharedSchedulerPool pool = POOLS.get(parallelism);
+            if (pool == null) {
+                pool = new SharedSchedulerPool(parallelism);
+                POOLS.put(parallelism, pool);
+            }
+            return pool;
+        }
     }
 
     private ParametersRunnerFactory getParametersRunnerFactory(Class<?> klass)
@@ -267,6 +401,209 @@ public class Parameterized extends Suite {
         return runners;
     }
 
+    @Override
+    public Description getDescription() {
+        if (!parameters.streaming()) {
+            return super.getDescription();
+        }
+        Description description = streamingDescription;
+        if (description == null) {
+            description = describeStreamingRows();
+            streamingDescription = description;
+        }
+        return description;
+    }
+
+    private Description describeStreamingRows() {
+        final Description description = Description.createSuiteDescription(
+                getName(), getRunnerAnnotations());
+        Throwable failure = null;
+        if (!parameters.describeUpFront()) {
+            Class<?> javaClass = getTestClass().getJavaClass();
+            for (FrameworkMethod each : getTestClass().getAnnotatedMethods(Test.class)) {
+                description.addChild(Description.createTestDescription(
+                        javaClass, each.getName(), each.getAnnotations()));
+            }
+        } else {
+            try {
+                forEachRow(new RowVisitor() {
+                    @Override
+                    void visit(Runner row) {
+                        description.addChild(row.getDescription());
+                    }
+                });
+            } catch (VirtualMachineError e) {
+                throw e;
+            } catch (ThreadDeath e) {
+                throw e;
+            } catch (Throwable e) {
+                // Reported against the class when the tests are run, like a
+                // failure of the parameters method of a non-streaming runner
+                failure = e;
+            }
+        }
+        synchronized (rowFilters) {
+            describeFailure = failure;
+        }
+        return description;
+    }
+
+    @Override
+    public void filter(Filter filter) throws NoTestsRemainException {
+        if (!parameters.streaming()) {
+            super.filter(filter);
+            return;
+        }
+        synchronized (rowFilters) {
+            rowFilters.add(filter);
+        }
+        if (parameters.describeUpFront()) {
+            streamingDescription = null;
+            childrenModified();
+            boolean failed;
+            synchronized (rowFilters) {
+                failed = describeFailure != null;
+            }
+            if (getDescription().getChildrenUnmodifiable().isEmpty() && !failed) {
+                throw new NoTestsRemainException();
+            }
+        }
+    }
+
+    @Override
+    public void sort(Sorter sorter) {
+        if (!parameters.streaming()) {
+            super.sort(sorter);
+            return;
+        }
+        synchronized (rowFilters) {
+            rowSorters.add(sorter);
+        }
+        if (parameters.describeUpFront()) {
+            streamingDescription = null;
+            childrenModified();
+        }
+    }
+
+    @Override
+    protected Statement classBlock(RunNotifier notifier) {
+        if (!parameters.streaming()) {
+            return super.classBlock(notifier);
+        }
+        final Throwable failure;
+        synchronized (rowFilters) {
+            failure = describeFailure;
+        }
+        if (failure != null) {
+            return new Statement() {
+                @Override
+                public void evaluate() throws Throwable {
+                    throw failure;
+                }
+            };
+        }
+        // Whether any row has tests is not known before the rows are pulled
+        Statement statement = childrenInvoker(notifier);
+        statement = withBeforeClasses(statement);
+        statement = withAfterClasses(statement);
+        List<TestRule> classRules = classRules();
+        return classRules.isEmpty() ? statement
+                : new RunRules(statement, classRules, getDescription());
+    }
+
+    @Override
+    protected Statement childrenInvoker(final RunNotifier notifier) {
+        if (!parameters.streaming()) {
+            return super.childrenInvoker(notifier);
+        }
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                if (pool == null) {
+                    forEachRow(new RowVisitor() {
+                        @Override
+                        void visit(Runner row) {
+                            row.run(notifier);
+                        }
+                    });
+                } else {
+                    runRowsConcurrently(notifier);
+                }
+            }
+        };
+    }
+
+    private void runRowsConcurrently(final RunNotifier notifier) throws Throwable {
+        // A row is pulled as soon as one of the pulled rows has finished
+        final Semaphore window = new Semaphore(4 * pool.getParallelism());
+        final RunnerScheduler scheduler = pool.newScheduler();
+        try {
+            forEachRow(new RowVisitor() {
+                @Override
+                void visit(final Runner row) {
+                    try {
+                        window.acquire();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new StoppedByUserException();
+                    }
+                    scheduler.schedule(new Runnable() {
+                        public void run() {
+                            try {
+                                row.run(notifier);
+                            } finally {
+                                window.release();
+                            }
+                        }
+                    });
+                }
+            });
+        } finally {
+            scheduler.finished();
+        }
+    }
+
+    private abstract static class RowVisitor {
+        abstract void visit(Runner row);
+    }
+
+    private void forEachRow(RowVisitor visitor) throws Throwable {
+        int index = 0;
+        for (Object parametersOfSingleTest : streamedParameters()) {
+            Runner row;
+            try {
+                row = runnerFactory.createRunnerForTestWithParameters(
+                        createTestWithNotNormalizedParameters(
+                                parameters.name(), index++,
+                                parametersOfSingleTest));
+            } catch (ClassCastException e) {
+                throw parametersMethodReturnedWrongType();
+            }
+            if (prepareRow(row)) {
+                visitor.visit(row);
+            }
+        }
+    }
+
+    private boolean prepareRow(Runner row) {
+        synchronized (rowFilters) {
+            for (Filter each : rowFilters) {
+                if (!each.shouldRun(row.getDescription())) {
+                    return false;
+                }
+                try {
+                    each.apply(row);
+                } catch (NoTestsRemainException e) {
+                    return false;
+                }
+            }
+            for (Sorter each : rowSorters) {
+                each.apply(row);
+            }
+        }
+        return true;
+    }
+
     private TestWithParameters createTestWithNotNormalizedParameters(
             String pattern, int index, Object parametersOrSingleParameter) {
         Object[] parameters= (parametersOrSingleParameter instanceof Object[]) ? (Object[]) parametersOrSingleParameter
@@ -275,6 +612,19 @@ public class Parameterized extends Suite {
                 parameters);
     }
 
+    /**
+     * Returns the rows of a streaming runner. The parameters method is called
+     * once, by the first pass over the rows.
+     */
+    private Iterable<Object> streamedParameters() throws Throwable {
+        synchronized (rowFilters) {
+            if (streamedParameters == null) {
+                streamedParameters = allParameters();
+            }
+            return streamedParameters;
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private Iterable<Object> allParameters() throws Throwable {
         Object parameters = getParametersMethod().invokeExplosively(null);
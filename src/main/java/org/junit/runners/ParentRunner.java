@@ -12,6 +12,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -60,12 +61,24 @@ public abstract class ParentRunner<T> extends Runner implements Filterable,
     private static final List<TestClassValidator> VALIDATORS = Arrays.asList(
             new AnnotationsValidator(), new PublicClassValidator());
 
+    /*
+     * Incremented whenever any ParentRunner is filtered or sorted. While it is
+     * unchanged, a cached Description is used without looking at the
+     * children. Otherwise the cached Description is still used if the
+     * children of the runner and their Descriptions are the same instances as
+     * before, because filtering or sorting a child runner directly changes the
+     * Description of its parents, too.
+     */
+    private static final AtomicLong CHILDREN_MODIFICATIONS = new AtomicLong();
+
     private final Object childrenLock = new Object();
     private final TestClass testClass;
 
     // Guarded by childrenLock
     private volatile Collection<T> filteredChildren = null;
 
+    private volatile CachedDescription cachedDescription = null;
+
     private volatile RunnerScheduler scheduler = new RunnerScheduler() {
         public void schedule(Runnable childStatement) {
             childStatement.run();
@@ -84,6 +97,21 @@ public abstract class ParentRunner<T> extends Runner implements Filterable,
         validate();
     }
 
+    /**
+     * Constructs a new {@code ParentRunner} that will run the already scanned
+     * {@code testClass}. Runners of the same class can share one
+     * {@code TestClass} this way.
+     *
+     * @since 4.12
+     */
+    protected ParentRunner(TestClass testClass) throws InitializationError {
+        if (testClass == null) {
+            throw new NullPointerException("testClass cannot be null");
+        }
+        this.testClass = testClass;
+        validate();
+    }
+
     protected TestClass createTestClass(Class<?> testClass) {
         return new TestClass(testClass);
     }
@@ -344,16 +372,50 @@ public abstract class ParentRunner<T> extends Runner implements Filterable,
     // Implementation of Runner
     //
 
+    /**
+     * Returns a {@link Description} of this runner and its children. The
+     * description is built once and returned again until this runner or one
+     * of its descendants is filtered or sorted, so callers must not modify
+     * it.
+     */
     @Override
     public Description getDescription() {
+        long modifications = CHILDREN_MODIFICATIONS.get();
+        CachedDescription cached = cachedDescription;
+        if (cached != null) {
+            if (!cached.checkChildren && cached.modifications == modifications) {
+                return cached.description;
+            }
+            if (cached.isCurrent()) {
+                cached.modifications = modifications;
+                return cached.description;
+            }
+        }
+        Collection<T> children = getFilteredChildren();
         Description description = Description.createSuiteDescription(getName(),
                 getRunnerAnnotations());
-        for (T child : getFilteredChildren()) {
-            description.addChild(describeChild(child));
+        Description[] childDescriptions = new Description[children.size()];
+        boolean checkChildren = false;
+        int i = 0;
+        for (T child : children) {
+            childDescriptions[i] = describeChild(child);
+            description.addChild(childDescriptions[i++]);
+            // Filtering other runners does not change the counter
+            checkChildren |= child instanceof Runner && !(child instanceof ParentRunner<?>);
         }
+        cachedDescription = new CachedDescription(description, children,
+                childDescriptions, checkChildren, modifications);
         return description;
     }
 
+    /**
+     * Called when a runner has been filtered or sorted, so that the cached
+     * Descriptions of its parents are checked.
+     */
+    static void childrenModified() {
+        CHILDREN_MODIFICATIONS.incrementAndGet();
+    }
+
     @Override
     public void run(final RunNotifier notifier) {
         EachTestNotifier testNotifier = new EachTestNotifier(notifier,
@@ -390,6 +452,7 @@ public abstract class ParentRunner<T> extends Runner implements Filterable,
                 }
             }
             filteredChildren = Collections.unmodifiableCollection(children);
+            childrenModified();
             if (filteredChildren.isEmpty()) {
                 throw new NoTestsRemainException();
             }
@@ -404,6 +467,7 @@ public abstract class ParentRunner<T> extends Runner implements Filterable,
             List<T> sortedChildren = new ArrayList<T>(getFilteredChildren());
             Collections.sort(sortedChildren, comparator(sorter));
             filteredChildren = Collections.unmodifiableCollection(sortedChildren);
+            childrenModified();
         }
     }
 
@@ -449,4 +513,35 @@ public abstract class ParentRunner<T> extends Runner implements Filterable,
     public void setScheduler(RunnerScheduler scheduler) {
         this.scheduler = scheduler;
     }
+
+    private final class CachedDescription {
+        final Description description;
+        final Collection<T> children;
+        final Description[] childDescriptions;
+        final boolean checkChildren;
+        volatile long modifications;
+
+        CachedDescription(Description description, Collection<T> children,
+                Description[] childDescriptions, boolean checkChildren,
+                long modifications) {
+            this.description = description;
+            this.children = children;
+            this.childDescriptions = childDescriptions;
+            this.checkChildren = checkChildren;
+            this.modifications = modifications;
+        }
+
+        boolean isCurrent() {
+            if (children != getFilteredChildren()) {
+                return false;
+            }
+            int i = 0;
+            for (T child : children) {
+                if (describeChild(child) != childDescriptions[i++]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
 }
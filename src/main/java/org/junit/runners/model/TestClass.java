@@ -4,6 +4,7 @@ import static java.lang.reflect.Modifier.isStatic;
 import static org.junit.internal.MethodSorter.NAME_ASCENDING;
 
 import java.lang.annotation.Annotation;
+import java.lang.ref.SoftReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -17,6 +18,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -32,15 +34,25 @@ public class TestClass implements Annotatable {
     private static final FieldComparator FIELD_COMPARATOR = new FieldComparator();
     private static final MethodComparator METHOD_COMPARATOR = new MethodComparator();
 
+    /*
+     * The scanned members reference the class, so they are only softly
+     * reachable from the cache; otherwise the weak key would never be cleared.
+     */
+    private static final Map<Class<?>, SoftReference<AnnotatedMembers>> SCANNED_CLASSES =
+            Collections.synchronizedMap(new WeakHashMap<Class<?>, SoftReference<AnnotatedMembers>>());
+
     private final Class<?> clazz;
     private final Map<Class<? extends Annotation>, List<FrameworkMethod>> methodsForAnnotations;
     private final Map<Class<? extends Annotation>, List<FrameworkField>> fieldsForAnnotations;
+    private volatile Constructor<?> onlyConstructor;
 
     /**
-     * Creates a {@code TestClass} wrapping {@code clazz}. Each time this
-     * constructor executes, the class is scanned for annotations, which can be
-     * an expensive process (we hope in future JDK's it will not be.) Therefore,
-     * try to share instances of {@code TestClass} where possible.
+     * Creates a {@code TestClass} wrapping {@code clazz}. Scanning a class for
+     * annotations can be an expensive process (we hope in future JDK's it will
+     * not be.) Therefore the annotated members of a class are shared by all
+     * instances of {@code TestClass} that wrap it, as long as the class is not
+     * unloaded. Subclasses that override
+     * {@link #scanAnnotatedMembers(Map, Map)} scan the class each time.
      */
     public TestClass(Class<?> clazz) {
         this.clazz = clazz;
@@ -49,6 +61,24 @@ public class TestClass implements Annotatable {
                     "Test class can only have one constructor");
         }
 
+        boolean cacheable = clazz != null && getClass() == TestClass.class;
+        AnnotatedMembers members = cacheable ? getScannedMembers(clazz) : null;
+        if (members == null) {
+            members = scan();
+            if (cacheable) {
+                SCANNED_CLASSES.put(clazz, new SoftReference<AnnotatedMembers>(members));
+            }
+        }
+        this.methodsForAnnotations = members.methodsForAnnotations;
+        this.fieldsForAnnotations = members.fieldsForAnnotations;
+    }
+
+    private static AnnotatedMembers getScannedMembers(Class<?> clazz) {
+        SoftReference<AnnotatedMembers> reference = SCANNED_CLASSES.get(clazz);
+        return reference == null ? null : reference.get();
+    }
+
+    private AnnotatedMembers scan() {
         Map<Class<? extends Annotation>, List<FrameworkMethod>> methodsForAnnotations =
                 new LinkedHashMap<Class<? extends Annotation>, List<FrameworkMethod>>();
         Map<Class<? extends Annotation>, List<FrameworkField>> fieldsForAnnotations =
@@ -56,8 +86,8 @@ public class TestClass implements Annotatable {
 
         scanAnnotatedMembers(methodsForAnnotations, fieldsForAnnotations);
 
-        this.methodsForAnnotations = makeDeeplyUnmodifiable(methodsForAnnotations);
-        this.fieldsForAnnotations = makeDeeplyUnmodifiable(fieldsForAnnotations);
+        return new AnnotatedMembers(makeDeeplyUnmodifiable(methodsForAnnotations),
+                makeDeeplyUnmodifiable(fieldsForAnnotations));
     }
 
     protected void scanAnnotatedMembers(Map<Class<? extends Annotation>, List<FrameworkMethod>> methodsForAnnotations, Map<Class<? extends Annotation>, List<FrameworkField>> fieldsForAnnotations) {
@@ -200,9 +230,15 @@ public class TestClass implements Annotatable {
      */
 
     public Constructor<?> getOnlyConstructor() {
-        Constructor<?>[] constructors = clazz.getConstructors();
-        Assert.assertEquals(1, constructors.length);
-        return constructors[0];
+        // Class.getConstructors() copies the constructors on each call
+        Constructor<?> result = onlyConstructor;
+        if (result == null) {
+            Constructor<?>[] constructors = clazz.getConstructors();
+            Assert.assertEquals(1, constructors.length);
+            result = constructors[0];
+            onlyConstructor = result;
+        }
+        return result;
     }
 
     /**
@@ -292,6 +328,17 @@ public class TestClass implements Annotatable {
         return clazz == other.clazz;
     }
 
+    private static class AnnotatedMembers {
+        final Map<Class<? extends Annotation>, List<FrameworkMethod>> methodsForAnnotations;
+        final Map<Class<? extends Annotation>, List<FrameworkField>> fieldsForAnnotations;
+
+        AnnotatedMembers(Map<Class<? extends Annotation>, List<FrameworkMethod>> methodsForAnnotations,
+                Map<Class<? extends Annotation>, List<FrameworkField>> fieldsForAnnotations) {
+            this.methodsForAnnotations = methodsForAnnotations;
+            this.fieldsForAnnotations = fieldsForAnnotations;
+        }
+    }
+
     /**
      * Compares two fields by its name.
      */
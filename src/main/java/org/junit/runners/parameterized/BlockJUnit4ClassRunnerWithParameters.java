@@ -2,7 +2,10 @@ package org.junit.runners.parameterized;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.BlockJUnit4ClassRunner;
@@ -11,20 +14,28 @@ import org.junit.runners.model.FrameworkField;
 import org.junit.runners.model.FrameworkMethod;
 import org.junit.runners.model.InitializationError;
 import org.junit.runners.model.Statement;
+import org.junit.runners.model.TestClass;
 
 /**
  * A {@link BlockJUnit4ClassRunner} with parameters support. Parameters can be
  * injected via constructor or into annotated fields.
+ *
+ * <p>All runners for the same test class share the scanned class, the result
+ * of validating it and the plan for injecting the parameters into fields, so
+ * creating a runner for another set of parameters does no reflection.
  */
 public class BlockJUnit4ClassRunnerWithParameters extends
         BlockJUnit4ClassRunner {
+    private static final Map<TestClass, ParameterizedClass> PARAMETERIZED_CLASSES =
+            new WeakHashMap<TestClass, ParameterizedClass>();
+
     private final Object[] parameters;
 
     private final String name;
 
     public BlockJUnit4ClassRunnerWithParameters(TestWithParameters test)
             throws InitializationError {
-        super(test.getTestClass().getJavaClass());
+        super(test.getTestClass());
         parameters = test.getParameters().toArray(
                 new Object[test.getParameters().size()]);
         name = test.getName();
@@ -44,20 +55,20 @@ public class BlockJUnit4ClassRunnerWithParameters extends
     }
 
     private Object createTestUsingFieldInjection() throws Exception {
-        List<FrameworkField> annotatedFieldsByParameter = getAnnotatedFieldsByParameter();
-        if (annotatedFieldsByParameter.size() != parameters.length) {
+        ParameterizedClass parameterizedClass = parameterizedClass(getTestClass());
+        Field[] fields = parameterizedClass.parameterFields;
+        if (fields.length != parameters.length) {
             throw new Exception(
                     "Wrong number of parameters and @Parameter fields."
                             + " @Parameter fields counted: "
-                            + annotatedFieldsByParameter.size()
+                            + fields.length
                             + ", available parameters: " + parameters.length
                             + ".");
         }
         Object testClassInstance = getTestClass().getJavaClass().newInstance();
-        for (FrameworkField each : annotatedFieldsByParameter) {
-            Field field = each.getField();
-            Parameter annotation = field.getAnnotation(Parameter.class);
-            int index = annotation.value();
+        for (int i = 0; i < fields.length; i++) {
+            Field field = fields[i];
+            int index = parameterizedClass.parameterIndices[i];
             try {
                 field.set(testClassInstance, parameters[index]);
             } catch (IllegalArgumentException iare) {
@@ -83,6 +94,27 @@ public class BlockJUnit4ClassRunnerWithParameters extends
         return method.getName() + getName();
     }
 
+    /**
+     * Validates the test class once and reports the same errors for all
+     * runners of the class. Subclasses validate each runner on its own.
+     */
+    @Override
+    protected void collectInitializationErrors(List<Throwable> errors) {
+        if (getClass() != BlockJUnit4ClassRunnerWithParameters.class) {
+            super.collectInitializationErrors(errors);
+            return;
+        }
+        ParameterizedClass parameterizedClass = parameterizedClass(getTestClass());
+        synchronized (parameterizedClass) {
+            if (parameterizedClass.validationErrors == null) {
+                List<Throwable> validationErrors = new ArrayList<Throwable>();
+                super.collectInitializationErrors(validationErrors);
+                parameterizedClass.validationErrors = validationErrors;
+            }
+            errors.addAll(parameterizedClass.validationErrors);
+        }
+    }
+
     @Override
     protected void validateConstructor(List<Throwable> errors) {
         validateOnlyOneConstructor(errors);
@@ -133,6 +165,40 @@ public class BlockJUnit4ClassRunnerWithParameters extends
         return new Annotation[0];
     }
 
+    private static ParameterizedClass parameterizedClass(TestClass testClass) {
+        synchronized (PARAMETERIZED_CLASSES) {
+            ParameterizedClass parameterizedClass = PARAMETERIZED_CLASSES.get(testClass);
+            if (parameterizedClass == null) {
+                parameterizedClass = new ParameterizedClass(testClass);
+                PARAMETERIZED_CLASSES.put(testClass, parameterizedClass);
+            }
+            return parameterizedClass;
+        }
+    }
+
+    /**
+     * What the runners for one test class have in common.
+     */
+    private static final class ParameterizedClass {
+        final Field[] parameterFields;
+
+        final int[] parameterIndices;
+
+        /** Guarded by this, {@code null} until the class has been validated */
+        List<Throwable> validationErrors;
+
+        ParameterizedClass(TestClass testClass) {
+            List<FrameworkField> fields = testClass.getAnnotatedFields(Parameter.class);
+            parameterFields = new Field[fields.size()];
+            parameterIndices = new int[fields.size()];
+            for (int i = 0; i < parameterFields.length; i++) {
+                parameterFields[i] = fields.get(i).getField();
+                parameterIndices[i] = parameterFields[i].getAnnotation(
+                        Parameter.class).value();
+            }
+        }
+    }
+
     private List<FrameworkField> getAnnotatedFieldsByParameter() {
         return getTestClass().getAnnotatedFields(Parameter.class);
     }
@@ -1,5 +1,9 @@
 package junit.tests.extensions;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import junit.extensions.ActiveTestSuite;
 import junit.extensions.RepeatedTest;
 import junit.framework.Test;
@@ -53,6 +57,112 @@ public class ActiveTestTest extends TestCase {
         assertEquals(0, result.errorCount());
     }
 
+    public static class CountingTest extends TestCase {
+        static final AtomicInteger fRunning = new AtomicInteger();
+        static final AtomicInteger fMaxRunning = new AtomicInteger();
+
+        @Override
+        public void runTest() throws Exception {
+            int running = fRunning.incrementAndGet();
+            int max;
+            do {
+                max = fMaxRunning.get();
+            } while (running > max && !fMaxRunning.compareAndSet(max, running));
+            Thread.sleep(5);
+            fRunning.decrementAndGet();
+        }
+    }
+
+    public void testBoundedParallelism() {
+        CountingTest.fMaxRunning.set(0);
+        ActiveTestSuite suite = new ActiveTestSuite();
+        suite.setParallelism(2);
+        for (int i = 0; i < 20; i++) {
+            suite.addTest(new CountingTest());
+        }
+        TestResult result = new TestResult();
+        suite.run(result);
+        assertEquals(20, result.runCount());
+        assertEquals(0, result.errorCount());
+        assertTrue(CountingTest.fMaxRunning.get() <= 2);
+    }
+
+    public void testNestedActiveTestSuitesShareBoundedPool() {
+        ActiveTestSuite suite = new ActiveTestSuite();
+        suite.setParallelism(1);
+        for (int i = 0; i < 3; i++) {
+            suite.addTest(createActiveTestSuite());
+        }
+        TestResult result = new TestResult();
+        suite.run(result);
+        assertEquals(300, result.runCount());
+    }
+
+    public static class SleepingTest extends TestCase {
+        static final AtomicInteger fFinished = new AtomicInteger();
+
+        @Override
+        public void runTest() throws Exception {
+            Thread.sleep(500);
+            fFinished.incrementAndGet();
+        }
+    }
+
+    public static class InterruptingTest extends TestCase {
+        @Override
+        public void runTest() {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public void testWaitsForAllTestsIfATestInterruptsItsThread() {
+        SleepingTest.fFinished.set(0);
+        ActiveTestSuite suite = new ActiveTestSuite();
+        suite.setParallelism(1);
+        suite.addTest(new SleepingTest());
+        suite.addTest(new SleepingTest());
+        suite.addTest(new InterruptingTest());
+        TestResult result = new TestResult();
+        suite.run(result);
+        assertEquals(2, SleepingTest.fFinished.get());
+        assertEquals(3, result.runCount());
+        assertEquals(0, result.errorCount());
+        assertFalse(Thread.interrupted());
+    }
+
+    public static class InterruptibleTest extends TestCase {
+        static final CountDownLatch fStarted = new CountDownLatch(1);
+
+        @Override
+        public void runTest() throws Exception {
+            fStarted.countDown();
+            Thread.sleep(60 * 1000);
+        }
+    }
+
+    public void testStopsWaitingWhenRunningThreadIsInterrupted() throws Exception {
+        final ActiveTestSuite suite = new ActiveTestSuite();
+        suite.setParallelism(1);
+        suite.addTest(new InterruptibleTest());
+        suite.addTest(new InterruptibleTest());
+        final TestResult result = new TestResult();
+        final boolean[] interrupted = new boolean[1];
+        final Thread thread = new Thread() {
+            @Override
+            public void run() {
+                suite.run(result);
+                interrupted[0] = Thread.interrupted();
+            }
+        };
+        thread.start();
+        assertTrue(InterruptibleTest.fStarted.await(10, TimeUnit.SECONDS));
+        thread.interrupt();
+        thread.join(10 * 1000);
+        assertFalse(thread.isAlive());
+        assertTrue(interrupted[0]);
+        assertTrue(result.shouldStop());
+    }
+
     ActiveTestSuite createActiveTestSuite() {
         ActiveTestSuite suite = new ActiveTestSuite();
         for (int i = 0; i < 100; i++) {
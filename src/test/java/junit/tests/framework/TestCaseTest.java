@@ -1,5 +1,6 @@
 package junit.tests.framework;
 
+import junit.extensions.RepeatedTest;
 import junit.framework.Test;
 import junit.framework.TestCase;
 import junit.framework.TestFailure;
@@ -182,6 +183,30 @@ public class TestCaseTest extends TestCase {
         assertEquals(1, result.failureCount());
     }
 
+    public void testRepeatedRunsOfInheritedTest() {
+        Test t = new RepeatedTest(new InheritedTestCase() {
+            {
+                setName("testCase");
+            }
+        }, 3);
+        TestResult result = new TestResult();
+        t.run(result);
+        assertEquals(3, result.runCount());
+        assertTrue(result.wasSuccessful());
+    }
+
+    public void testMissingTestMethodFails() {
+        TestCase t = new OneTestCase() {
+            {
+                setName("noSuchTest");
+            }
+        };
+        TestResult result = t.run();
+        assertEquals(1, result.failureCount());
+        TestFailure failure = result.failures().nextElement();
+        assertEquals("Method \"noSuchTest\" not found", failure.exceptionMessage());
+    }
+
     void verifyError(TestCase test) {
         TestResult result = test.run();
         assertTrue(result.runCount() == 1);
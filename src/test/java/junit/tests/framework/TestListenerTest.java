@@ -1,8 +1,11 @@
 package junit.tests.framework;
 
+import java.util.Enumeration;
+
 import junit.framework.AssertionFailedError;
 import junit.framework.Test;
 import junit.framework.TestCase;
+import junit.framework.TestFailure;
 import junit.framework.TestListener;
 import junit.framework.TestResult;
 
@@ -77,4 +80,79 @@ public class TestListenerTest extends TestCase implements TestListener {
         assertEquals(1, fStartCount);
         assertEquals(1, fEndCount);
     }
-}
\ No newline at end of file
+
+    public void testListenerRemovedDuringEvent() {
+        final TestResult result = new TestResult();
+        result.addListener(new TestListener() {
+            public void addError(Test test, Throwable e) {
+            }
+
+            public void addFailure(Test test, AssertionFailedError t) {
+            }
+
+            public void endTest(Test test) {
+            }
+
+            public void startTest(Test test) {
+                result.removeListener(this);
+            }
+        });
+        result.addListener(this);
+        TestCase test = new TestCase("noop") {
+            @Override
+            public void runTest() {
+            }
+        };
+        test.run(result);
+        test.run(result);
+        assertEquals(2, fStartCount);
+        assertEquals(2, result.runCount());
+    }
+
+    public void testConcurrentTests() throws Exception {
+        final TestResult result = new TestResult();
+        final int testsPerThread = 1000;
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < testsPerThread; j++) {
+                        new TestCase("failing") {
+                            @Override
+                            public void runTest() {
+                                fail();
+                            }
+                        }.run(result);
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for (Thread each : threads) {
+            each.join();
+        }
+        assertEquals(threads.length * testsPerThread, result.runCount());
+        assertEquals(threads.length * testsPerThread, result.failureCount());
+        assertFalse(result.wasSuccessful());
+    }
+
+    public void testFailuresCanBeEnumeratedWhileFailuresAreAdded() {
+        TestResult result = new TestResult();
+        TestCase test = new TestCase("failing") {
+            @Override
+            public void runTest() {
+                fail();
+            }
+        };
+        test.run(result);
+        Enumeration<TestFailure> failures = result.failures();
+        test.run(result);
+        int count = 0;
+        while (failures.hasMoreElements()) {
+            assertSame(test, failures.nextElement().failedTest());
+            count++;
+        }
+        assertEquals(2, count);
+    }
+}
@@ -2,17 +2,26 @@ package junit.tests.runner;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.ArrayList;
 import java.util.List;
 
 import junit.framework.TestCase;
 import junit.tests.framework.Success;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.Description;
 import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
 import org.junit.runner.Result;
 import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runners.MethodSorters;
 import org.junit.tests.running.methods.AnnotationTest;
 
 public class ResultTest extends TestCase {
@@ -29,6 +38,106 @@ public class ResultTest extends TestCase {
         assertResultSerializable(result);
     }
 
+    @FixMethodOrder(MethodSorters.NAME_ASCENDING)
+    public static class ThreeFailures {
+        @Test
+        public void first() {
+            throw new IllegalStateException("first");
+        }
+
+        @Test
+        public void second() {
+            throw new IllegalStateException("second");
+        }
+
+        @Test
+        public void third() {
+            throw new IllegalStateException("third");
+        }
+    }
+
+    public void testKeepsCompactFormOfFailuresBeyondLimit() throws Exception {
+        Result result = new JUnitCore().run(Request.aClass(ThreeFailures.class),
+                new Result(1));
+        assertEquals(3, result.getFailureCount());
+        List<Failure> failures = result.getFailures();
+        assertEquals(3, failures.size());
+        assertEquals(IllegalStateException.class, failures.get(0).getException().getClass());
+        Failure compact = failures.get(1);
+        assertFalse(compact.getException() instanceof IllegalStateException);
+        assertEquals("second", compact.getMessage());
+        assertTrue(compact.getTrace(), compact.getTrace().startsWith(
+                IllegalStateException.class.getName() + ": second"));
+        assertTrue(compact.getTrace(), compact.getTrace().contains("ThreeFailures.second"));
+        assertSame(failures.get(1).getException().getStackTrace()[1],
+                failures.get(2).getException().getStackTrace()[1]);
+    }
+
+    public void testWritesFailuresBeyondMaximumToSpillFile() throws Exception {
+        File spillFile = File.createTempFile("failures", ".txt");
+        spillFile.deleteOnExit();
+        Result result = new JUnitCore().run(Request.aClass(ThreeFailures.class),
+                new Result(0, 1, spillFile));
+        assertEquals(3, result.getFailureCount());
+        assertEquals(1, result.getFailures().size());
+        assertFalse(result.wasSuccessful());
+        String spilled = new String(readAll(spillFile), "UTF-8");
+        assertTrue(spilled, spilled.contains("second(" + ThreeFailures.class.getName() + ")"));
+        assertTrue(spilled, spilled.contains(IllegalStateException.class.getName() + ": third"));
+    }
+
+    public void testRecordsFailureToWriteSpillFile() throws Exception {
+        File directory = File.createTempFile("failures", "");
+        directory.delete();
+        directory.mkdir();
+        directory.deleteOnExit();
+        final List<Failure> mechanismFailures = new ArrayList<Failure>();
+        JUnitCore core = new JUnitCore();
+        core.addListener(new RunListener() {
+            @Override
+            public void testFailure(Failure failure) {
+                if (failure.getDescription() == Description.TEST_MECHANISM) {
+                    mechanismFailures.add(failure);
+                }
+            }
+        });
+        Result result = core.run(Request.aClass(ThreeFailures.class),
+                new Result(0, 1, directory));
+        assertTrue(result.getSpillFailure() instanceof IOException);
+        assertEquals(4, result.getFailureCount());
+        Failure last = result.getFailures().get(result.getFailures().size() - 1);
+        assertSame(Description.TEST_MECHANISM, last.getDescription());
+        assertSame(result.getSpillFailure(), last.getException());
+        assertFalse(result.wasSuccessful());
+        assertTrue(mechanismFailures.isEmpty());
+    }
+
+    public void testResultWithCompactFailuresCanBeSerialised() throws Exception {
+        Result result = new JUnitCore().run(Request.aClass(ThreeFailures.class), new Result(0));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new ObjectOutputStream(bytes).writeObject(result);
+        Result fromStream = (Result) new ObjectInputStream(
+                new ByteArrayInputStream(bytes.toByteArray())).readObject();
+        assertEquals(3, fromStream.getFailureCount());
+        assertEquals(result.getFailures().get(0).getTrace(),
+                fromStream.getFailures().get(0).getTrace());
+    }
+
+    private static byte[] readAll(File file) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        InputStream in = new FileInputStream(file);
+        try {
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                bytes.write(buffer, 0, read);
+            }
+        } finally {
+            in.close();
+        }
+        return bytes.toByteArray();
+    }
+
     private void assertResultSerializable(Result result) throws IOException, ClassNotFoundException {
         ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
         new ObjectOutputStream(byteArrayOutputStream).writeObject(result);
@@ -0,0 +1,132 @@
+package org.junit.experimental.filters;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.runner.Description.createSuiteDescription;
+import static org.junit.runner.Description.createTestDescription;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.Description;
+import org.junit.runner.FilterFactory.FilterNotCreatedException;
+import org.junit.runner.FilterFactoryParams;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.manipulation.Filter;
+
+public class SelectedTestsFilterTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    public static class Example {
+        @Test
+        public void one() {
+        }
+
+        @Test
+        public void two() {
+        }
+
+        @Test
+        public void three() {
+        }
+    }
+
+    public static class OtherExample {
+        @Test
+        public void one() {
+        }
+    }
+
+    private static Filter select(String... identifiers) {
+        return new SelectedTestsFilter(Arrays.asList(identifiers));
+    }
+
+    @Test
+    public void selectsASingleTestByClassAndMethod() {
+        Filter filter = select(Example.class.getName() + "#one");
+        assertTrue(filter.shouldRun(createTestDescription(Example.class, "one")));
+        assertFalse(filter.shouldRun(createTestDescription(Example.class, "two")));
+        assertFalse(filter.shouldRun(createTestDescription(OtherExample.class, "one")));
+    }
+
+    @Test
+    public void selectsASingleTestByDisplayName() {
+        Filter filter = select("two(" + Example.class.getName() + ")");
+        assertTrue(filter.shouldRun(createTestDescription(Example.class, "two")));
+        assertFalse(filter.shouldRun(createTestDescription(Example.class, "one")));
+    }
+
+    @Test
+    public void selectsAllTestsOfAClass() {
+        Filter filter = select(OtherExample.class.getName());
+        assertTrue(filter.shouldRun(createTestDescription(OtherExample.class, "one")));
+        assertFalse(filter.shouldRun(createTestDescription(Example.class, "one")));
+    }
+
+    @Test
+    public void selectsAllTestsOfClassesWithAPrefix() {
+        Filter filter = select("org.junit.experimental.*");
+        assertTrue(filter.shouldRun(createTestDescription(Example.class, "one")));
+        assertFalse(filter.shouldRun(createTestDescription(String.class, "length")));
+    }
+
+    @Test
+    public void runsSuitesThatContainASelectedTest() {
+        Description suite = createSuiteDescription("suite");
+        Description inner = createSuiteDescription("inner");
+        inner.addChild(createTestDescription(Example.class, "two"));
+        suite.addChild(createTestDescription(Example.class, "one"));
+        suite.addChild(inner);
+
+        Filter filter = select(Example.class.getName() + "#two");
+        assertTrue(filter.shouldRun(suite));
+        assertTrue(filter.shouldRun(inner));
+        assertFalse(select(Example.class.getName() + "#three").shouldRun(suite));
+    }
+
+    @Test
+    public void filtersARequest() {
+        Request request = Request.classes(Example.class, OtherExample.class).filterWith(
+                select(Example.class.getName() + "#one", OtherExample.class.getName()));
+        Result result = new JUnitCore().run(request);
+        assertEquals(2, result.getRunCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsEmptyIdentifiers() {
+        new SelectedTestsFilter(Collections.singletonList(" "));
+    }
+
+    @Test
+    public void factoryReadsIdentifiersFromAFile() throws Exception {
+        File file = folder.newFile("tests.txt");
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            writer.write("# tests to rerun\n\n" + Example.class.getName() + "#two\n");
+        } finally {
+            writer.close();
+        }
+        Filter filter = new IncludeTestsFromFile().createFilter(
+                new FilterFactoryParams(createSuiteDescription("all"), file.getPath()));
+        assertTrue(filter.shouldRun(createTestDescription(Example.class, "two")));
+        assertFalse(filter.shouldRun(createTestDescription(Example.class, "one")));
+    }
+
+    @Test(expected = FilterNotCreatedException.class)
+    public void factoryFailsForAMissingFile() throws IOException, FilterNotCreatedException {
+        new IncludeTestsFromFile().createFilter(new FilterFactoryParams(
+                createSuiteDescription("all"), new File(folder.getRoot(), "missing").getPath()));
+    }
+}
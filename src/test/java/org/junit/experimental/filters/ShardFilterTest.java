@@ -0,0 +1,122 @@
+package org.junit.experimental.filters;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.runner.Description.createSuiteDescription;
+import static org.junit.runner.Description.createTestDescription;
+
+import java.io.File;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.max.MaxHistory;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.Description;
+import org.junit.runner.FilterFactory.FilterNotCreatedException;
+import org.junit.runner.FilterFactoryParams;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.notification.RunListener;
+
+public class ShardFilterTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static Description suiteOfClasses(int classes, int testsPerClass) {
+        Description suite = createSuiteDescription("all");
+        for (int i = 0; i < classes; i++) {
+            Description testClass = createSuiteDescription("pkg.Test" + i);
+            for (int j = 0; j < testsPerClass; j++) {
+                testClass.addChild(createTestDescription("pkg.Test" + i, "test" + j));
+            }
+            suite.addChild(testClass);
+        }
+        return suite;
+    }
+
+    @Test
+    public void runsEachTestInExactlyOneShardTogetherWithItsClass() {
+        Description suite = suiteOfClasses(20, 2);
+        Filter[] shards = {new ShardFilter(0, 3), new ShardFilter(1, 3), new ShardFilter(2, 3)};
+        for (Description testClass : suite.getChildren()) {
+            int matchingShards = 0;
+            for (Filter shard : shards) {
+                if (shard.shouldRun(testClass)) {
+                    matchingShards++;
+                    for (Description test : testClass.getChildren()) {
+                        assertTrue(shard.shouldRun(test));
+                    }
+                }
+            }
+            assertEquals(1, matchingShards);
+        }
+        for (Filter shard : shards) {
+            assertTrue(shard.shouldRun(suite));
+        }
+    }
+
+    @Test
+    public void assignsClassByNameOnly() {
+        Filter shard = new ShardFilter(1, 4);
+        Description test = createTestDescription("pkg.Test3", "test0");
+        assertEquals(shard.shouldRun(test),
+                new ShardFilter(1, 4).shouldRun(createTestDescription("pkg.Test3", "other")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsIndexOutsideOfShards() {
+        new ShardFilter(3, 3);
+    }
+
+    @Test
+    public void balancesShardsByRecordedDurations() throws Exception {
+        MaxHistory history = MaxHistory.forFolder(new File(folder.getRoot(), "history"));
+        Description suite = suiteOfClasses(3, 1);
+        Description slowTest = createTestDescription("pkg.Slow", "test");
+        suite.addChild(slowTest);
+        RunListener listener = history.listener();
+        listener.testStarted(slowTest);
+        Thread.sleep(100);
+        listener.testFinished(slowTest);
+        for (Description testClass : suite.getChildren()) {
+            for (Description test : testClass.getChildren()) {
+                listener.testStarted(test);
+                listener.testFinished(test);
+            }
+        }
+
+        Filter first = new ShardFilter(0, 2, suite, history);
+        Filter second = new ShardFilter(1, 2, suite, history);
+        assertTrue(first.shouldRun(slowTest));
+        assertFalse(second.shouldRun(slowTest));
+        for (int i = 0; i < 3; i++) {
+            Description fastTest = createTestDescription("pkg.Test" + i, "test0");
+            assertFalse(first.shouldRun(fastTest));
+            assertTrue(second.shouldRun(fastTest));
+        }
+    }
+
+    @Test
+    public void factoryCreatesShardByHash() throws Exception {
+        Description suite = suiteOfClasses(10, 1);
+        Filter filter = new Shard().createFilter(new FilterFactoryParams(suite, "2/5"));
+        assertEquals("shard 2 of 5", filter.describe());
+        for (Description testClass : suite.getChildren()) {
+            assertEquals(new ShardFilter(2, 5).shouldRun(testClass), filter.shouldRun(testClass));
+        }
+    }
+
+    @Test
+    public void factoryCreatesShardBalancedByHistoryFile() throws Exception {
+        Description suite = suiteOfClasses(10, 1);
+        File history = new File(folder.getRoot(), "history");
+        Filter filter = new Shard().createFilter(new FilterFactoryParams(suite,
+                "0/2:" + history.getPath()));
+        assertEquals("shard 0 of 2", filter.describe());
+    }
+
+    @Test(expected = FilterNotCreatedException.class)
+    public void factoryRejectsMalformedShard() throws Exception {
+        new Shard().createFilter(new FilterFactoryParams(suiteOfClasses(1, 1), "2 of 5"));
+    }
+}
@@ -1,10 +1,12 @@
 package org.junit.runner;
 
 import org.junit.Test;
+import org.junit.runner.notification.RunListener;
 import org.junit.tests.TestSystem;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 public class JUnitCoreTest {
@@ -17,4 +19,27 @@ public class JUnitCoreTest {
         assertThat(result.getFailureCount(), is(1));
         assertThat(result.getFailures().get(0).getException(), instanceOf(IllegalArgumentException.class));
     }
+
+    public static class Example {
+        @Test
+        public void passes() {
+        }
+    }
+
+    @Test
+    public void callsListenersOnDispatcherThreadIfAsked() {
+        final Thread[] listenerThread = new Thread[1];
+        JUnitCore jUnitCore = new JUnitCore(true);
+        jUnitCore.addListener(new RunListener() {
+            @Override
+            public void testStarted(Description description) {
+                listenerThread[0] = Thread.currentThread();
+            }
+        });
+
+        Result result = jUnitCore.run(Example.class);
+
+        assertThat(result.getRunCount(), is(1));
+        assertThat(listenerThread[0], is(not(Thread.currentThread())));
+    }
 }
@@ -2,6 +2,7 @@ package org.junit.runner.notification;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
@@ -106,8 +107,126 @@ public class RunNotifierTest {
         assertThat(wrappedListener, instanceOf(SynchronizedRunListener.class));
     }
 
+    @Test
+    public void wrapIfNotThreadSafeShouldDispatchAsynchronouslyIfAsked() {
+        CountingListener listener = new CountingListener();
+        RunListener wrappedListener = new RunNotifier(true).wrapIfNotThreadSafe(listener);
+        assertThat(wrappedListener, instanceOf(AsynchronousRunListener.class));
+    }
+
+    @Test
+    public void asynchronousNotifierDeliversAllEventsInOrderBeforeRunFinishes() throws Exception {
+        final RunNotifier notifier = new RunNotifier(true);
+        final RecordingListener listener = new RecordingListener();
+        notifier.addListener(listener);
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 1000; j++) {
+                        notifier.fireTestStarted(null);
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for (Thread each : threads) {
+            each.join();
+        }
+        notifier.fireTestRunFinished(new Result());
+
+        assertThat(listener.fTestStarted.get(), is(4000));
+        assertThat(listener.fRunFinished, is(true));
+        assertThat(listener.fStartedAfterRunFinished, is(false));
+        assertThat(listener.fThread, is(not(Thread.currentThread())));
+    }
+
+    @Test
+    public void asynchronousListenerFailuresAreReportedToOtherListeners() {
+        RunNotifier notifier = new RunNotifier(true);
+        FailureListener failureListener = new FailureListener();
+        notifier.addListener(new CorruptListener());
+        notifier.addListener(failureListener);
+        notifier.fireTestRunFinished(new Result());
+        assertNotNull("The FailureListener registered no failure.",
+                failureListener.failure);
+    }
+
+    @Test(timeout = 10000)
+    public void asynchronousListenerThatThrowsAnErrorDoesNotHangTheRun() {
+        RunNotifier notifier = new RunNotifier(true);
+        FailureListener failureListener = new FailureListener();
+        notifier.addListener(new RunListener() {
+            @Override
+            public void testStarted(Description description) throws Exception {
+                throw new AssertionError("listener failed");
+            }
+        });
+        notifier.addListener(failureListener);
+        for (int i = 0; i < 2000; i++) {
+            notifier.fireTestStarted(null);
+        }
+        notifier.fireTestRunFinished(new Result());
+        assertNotNull("The FailureListener registered no failure.",
+                failureListener.failure);
+    }
+
+    @Test
+    public void removingAsynchronousListenerDeliversEarlierEventsOnly() {
+        RunNotifier notifier = new RunNotifier(true);
+        CountingListener listener = new CountingListener();
+        notifier.addListener(listener);
+        for (int i = 0; i < 2000; i++) {
+            notifier.fireTestStarted(null);
+        }
+        notifier.removeListener(listener);
+        assertThat(listener.fTestStarted.get(), is(2000));
+        notifier.fireTestStarted(null);
+        notifier.fireTestRunFinished(new Result());
+        assertThat(listener.fTestStarted.get(), is(2000));
+    }
+
+    @Test(timeout = 10000)
+    public void asynchronousListenerCanRemoveItself() {
+        final RunNotifier notifier = new RunNotifier(true);
+        CountingListener listener = new CountingListener() {
+            @Override
+            public void testStarted(Description description) throws Exception {
+                super.testStarted(description);
+                notifier.removeListener(this);
+            }
+        };
+        notifier.addListener(listener);
+        for (int i = 0; i < 10; i++) {
+            notifier.fireTestStarted(null);
+        }
+        notifier.fireTestRunFinished(new Result());
+        assertThat(listener.fTestStarted.get(), is(1));
+    }
+
+    private static class RecordingListener extends CountingListener {
+        volatile boolean fRunFinished = false;
+
+        volatile boolean fStartedAfterRunFinished = false;
+
+        volatile Thread fThread;
+
+        @Override
+        public void testStarted(Description description) throws Exception {
+            super.testStarted(description);
+            fStartedAfterRunFinished |= fRunFinished;
+            fThread = Thread.currentThread();
+        }
+
+        @Override
+        public void testRunFinished(Result result) throws Exception {
+            fRunFinished = true;
+        }
+    }
+
     private static class FailureListener extends RunListener {
-        private Failure failure;
+        private volatile Failure failure;
 
         @Override
         public void testFailure(Failure failure) throws Exception {
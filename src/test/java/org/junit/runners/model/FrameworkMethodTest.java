@@ -48,6 +48,21 @@ public class FrameworkMethodTest {
         assertThat(annotation, is(nullValue()));
     }
 
+    @Test
+    public void invokeExplosivelyRethrowsTheExceptionOfTheMethod() throws Throwable {
+        Method method = ClassWithThrowingMethod.class.getMethod("throwingMethod");
+        FrameworkMethod frameworkMethod = new FrameworkMethod(method);
+        thrown.expect(IllegalStateException.class);
+        thrown.expectMessage("from method");
+        frameworkMethod.invokeExplosively(new ClassWithThrowingMethod());
+    }
+
+    public static class ClassWithThrowingMethod {
+        public void throwingMethod() {
+            throw new IllegalStateException("from method");
+        }
+    }
+
     private static class ClassWithDummyMethod {
         @SuppressWarnings("unused")
         public void dummyMethod() {
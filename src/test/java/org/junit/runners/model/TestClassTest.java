@@ -5,11 +5,13 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
 import java.lang.annotation.Annotation;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.Ignore;
 import org.junit.Rule;
@@ -242,4 +244,32 @@ public class TestClassTest {
         Annotation annotation = tc.getAnnotation(RunWith.class);
         assertThat(annotation, is(nullValue()));
     }
+
+    @Test
+    public void sharesAnnotatedMembersOfTheSameClass() {
+        FrameworkMethod first = new TestClass(MethodsAnnotated.class)
+                .getAnnotatedMethods(Test.class).get(0);
+        FrameworkMethod second = new TestClass(MethodsAnnotated.class)
+                .getAnnotatedMethods(Test.class).get(0);
+        assertSame(first, second);
+    }
+
+    @Test
+    public void subclassesThatScanThemselvesAreNotShared() {
+        TestClass tc = new TestClass(MethodsAnnotated.class) {
+            @Override
+            protected void scanAnnotatedMembers(
+                    Map<Class<? extends Annotation>, List<FrameworkMethod>> methodsForAnnotations,
+                    Map<Class<? extends Annotation>, List<FrameworkField>> fieldsForAnnotations) {
+            }
+        };
+        assertTrue(tc.getAnnotatedMethods().isEmpty());
+        assertFalse(new TestClass(MethodsAnnotated.class).getAnnotatedMethods().isEmpty());
+    }
+
+    @Test
+    public void returnsTheSameOnlyConstructorEachTime() {
+        TestClass tc = new TestClass(SimpleClass.class);
+        assertSame(tc.getOnlyConstructor(), tc.getOnlyConstructor());
+    }
 }
@@ -4,6 +4,8 @@ import junit.framework.JUnit4TestAdapter;
 import junit.framework.Test;
 import org.junit.AssumptionViolatedExceptionTest;
 import org.junit.experimental.categories.CategoryFilterFactoryTest;
+import org.junit.experimental.filters.SelectedTestsFilterTest;
+import org.junit.experimental.filters.ShardFilterTest;
 import org.junit.internal.MethodSorterTest;
 import org.junit.internal.matchers.StacktracePrintingMatcherTest;
 import org.junit.internal.matchers.ThrowableCauseMatcherTest;
@@ -40,7 +42,11 @@ import org.junit.tests.experimental.categories.CategoryTest;
 import org.junit.tests.experimental.categories.JavadocTest;
 import org.junit.tests.experimental.categories.MultiCategoryTest;
 import org.junit.tests.experimental.max.JUnit38SortingTest;
+import org.junit.tests.experimental.max.MaxHistoryStoreTest;
 import org.junit.tests.experimental.max.MaxStarterTest;
+import org.junit.tests.experimental.parallel.BoundedParallelismTest;
+import org.junit.tests.experimental.parallel.ForkedComputerTest;
+import org.junit.tests.experimental.results.StreamingReportListenerTest;
 import org.junit.tests.experimental.parallel.ParallelClassTest;
 import org.junit.tests.experimental.parallel.ParallelMethodTest;
 import org.junit.tests.experimental.rules.BlockJUnit4ClassRunnerOverrideTest;
@@ -61,8 +67,10 @@ import org.junit.tests.experimental.theories.internal.AllMembersSupplierTest;
 import org.junit.tests.experimental.theories.internal.ParameterizedAssertionErrorTest;
 import org.junit.tests.experimental.theories.internal.SpecificDataPointsSupplierTest;
 import org.junit.tests.experimental.theories.runner.TheoriesPerformanceTest;
+import org.junit.tests.experimental.theories.runner.WithAssignmentStrategies;
 import org.junit.tests.experimental.theories.runner.WithAutoGeneratedDataPoints;
 import org.junit.tests.experimental.theories.runner.WithDataPointMethod;
+import org.junit.tests.experimental.theories.runner.WithFixturesPerAssignment;
 import org.junit.tests.experimental.theories.runner.WithNamedDataPoints;
 import org.junit.tests.internal.runners.statements.FailOnTimeoutTest;
 import org.junit.tests.junit3compatibility.AllTestsTest;
@@ -165,16 +173,22 @@ import org.junit.validator.PublicClassValidatorTest;
         MatcherTest.class,
         ObjectContractTest.class,
         TheoriesPerformanceTest.class,
+        WithFixturesPerAssignment.class,
+        WithAssignmentStrategies.class,
         JUnit4ClassRunnerTest.class,
         UseSuiteAsASuperclassTest.class,
         FilterableTest.class,
         FilterTest.class,
         MaxStarterTest.class,
+        MaxHistoryStoreTest.class,
         JUnit38SortingTest.class,
         MethodRulesTest.class,
         TestRuleTest.class,
         TimeoutRuleTest.class,
         ParallelClassTest.class,
+        BoundedParallelismTest.class,
+        ForkedComputerTest.class,
+        StreamingReportListenerTest.class,
         ParallelMethodTest.class,
         ParentRunnerTest.class,
         NameRulesTest.class,
@@ -204,6 +218,8 @@ import org.junit.validator.PublicClassValidatorTest;
         JUnitCommandLineParseResultTest.class,
         FilterFactoriesTest.class,
         CategoryFilterFactoryTest.class,
+        SelectedTestsFilterTest.class,
+        ShardFilterTest.class,
         FrameworkFieldTest.class,
         FrameworkMethodTest.class,
         FailOnTimeoutTest.class,
@@ -2,6 +2,13 @@ package org.junit.tests.description;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
 
 import org.junit.Test;
 import org.junit.runner.Description;
@@ -29,6 +36,66 @@ public class SuiteDescriptionTest {
         assertFalse(childless.hashCode() == namedB.hashCode());
     }
 
+    @Test
+    public void testCountIncludesChildrenAddedToADescendantLater() {
+        Description parent = Description.createSuiteDescription("parent");
+        parent.addChild(twoKids);
+        assertEquals(2, parent.testCount());
+        twoKids.addChild(Description.createTestDescription(getClass(), "third"));
+        assertEquals(3, parent.testCount());
+    }
+
+    @Test
+    public void getChildrenReturnsACopy() {
+        twoKids.getChildren().clear();
+        assertEquals(2, twoKids.getChildren().size());
+        twoKids.addChild(Description.createTestDescription(getClass(), "third"));
+        assertEquals(3, twoKids.getChildren().size());
+    }
+
+    @Test
+    public void testCountIncludesChildrenAddedAfterCounting() {
+        assertEquals(2, twoKids.testCount());
+        twoKids.addChild(Description.createTestDescription(getClass(), "third"));
+        assertEquals(3, twoKids.testCount());
+    }
+
+    @Test
+    public void testCountIncludesChildrenAddedToADeserializedDescendant() throws Exception {
+        Description parent = Description.createSuiteDescription("parent");
+        parent.addChild(twoKids);
+        Description copy = (Description) deserialize(serialize(parent));
+        assertEquals(2, copy.testCount());
+        copy.getChildren().get(0).addChild(Description.createTestDescription(getClass(), "third"));
+        assertEquals(3, copy.testCount());
+    }
+
+    @Test
+    public void getChildrenUnmodifiableDoesNotCopyUntilAChildIsAdded() {
+        List<Description> children = twoKids.getChildrenUnmodifiable();
+        assertSame(children, twoKids.getChildrenUnmodifiable());
+        twoKids.addChild(Description.createTestDescription(getClass(), "third"));
+        assertEquals(2, children.size());
+        assertEquals(3, twoKids.getChildrenUnmodifiable().size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void getChildrenUnmodifiableCannotBeModified() {
+        twoKids.getChildrenUnmodifiable().clear();
+    }
+
+    private static byte[] serialize(Object object) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(object);
+        out.close();
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] bytes) throws Exception {
+        return new ObjectInputStream(new ByteArrayInputStream(bytes)).readObject();
+    }
+
     private Description descriptionWithTwoKids(String first, String second) {
         Description twoKids = Description.createSuiteDescription("a");
         twoKids.addChild(Description.createTestDescription(getClass(), first));
@@ -23,6 +23,7 @@ import org.junit.experimental.categories.Categories.CategoryFilter;
 import org.junit.experimental.categories.Categories.ExcludeCategory;
 import org.junit.experimental.categories.Categories.IncludeCategory;
 import org.junit.experimental.categories.Category;
+import org.junit.runner.Description;
 import org.junit.runner.JUnitCore;
 import org.junit.runner.Request;
 import org.junit.runner.Result;
@@ -545,4 +546,22 @@ public class CategoryTest {
         assertTrue(testResult.wasSuccessful());
         assertEquals(1, testResult.getRunCount());
     }
+
+    @Category(SlowTests.class)
+    public static class SlowClassWithFastMethod {
+        @Category(FastTests.class)
+        @Test
+        public void a() {
+        }
+    }
+
+    @Test
+    public void matchAllCombinesClassAndMethodCategories() throws Exception {
+        Description a = Description.createTestDescription(SlowClassWithFastMethod.class, "a",
+                SlowClassWithFastMethod.class.getMethod("a").getAnnotations());
+        assertTrue(CategoryFilter.include(false, FastTests.class, SlowTests.class).shouldRun(a));
+        assertFalse(CategoryFilter.include(false, FastTests.class, ReallySlowTests.class).shouldRun(a));
+        assertFalse(CategoryFilter.exclude(false, FastTests.class, SlowTests.class).shouldRun(a));
+        assertTrue(CategoryFilter.exclude(false, FastTests.class, ReallySlowTests.class).shouldRun(a));
+    }
 }
@@ -0,0 +1,154 @@
+package org.junit.tests.experimental.max;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.max.MaxCore;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.Request;
+import org.junit.runner.notification.Failure;
+
+public class MaxHistoryStoreTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File maxFile;
+
+    @Before
+    public void createFile() {
+        maxFile = new File(folder.getRoot(), "MaxCore.ser");
+    }
+
+    public static class TwoUnEqualTests {
+        @Test
+        public void slow() throws InterruptedException {
+            Thread.sleep(100);
+            fail();
+        }
+
+        @Test
+        public void fast() {
+            fail();
+        }
+    }
+
+    public static class OneTest {
+        @Test
+        public void succeed() {
+        }
+    }
+
+    @Test
+    public void eachRunOnlyAppendsTheTestsItRan() {
+        MaxCore.storedLocally(maxFile).run(TwoUnEqualTests.class);
+        long afterFirstRun = maxFile.length();
+
+        MaxCore.storedLocally(maxFile).run(OneTest.class);
+        long appended = maxFile.length() - afterFirstRun;
+
+        assertTrue(appended > 0);
+        assertTrue(appended < afterFirstRun);
+        assertRemembersOrder();
+    }
+
+    @Test
+    public void survivesAnIncompleteRecordAtTheEnd() throws IOException {
+        MaxCore.storedLocally(maxFile).run(TwoUnEqualTests.class);
+        FileOutputStream stream = new FileOutputStream(maxFile, true);
+        try {
+            stream.write(new byte[]{1, 0, 0});
+        } finally {
+            stream.close();
+        }
+
+        assertRemembersOrder();
+    }
+
+    @Test
+    public void doesNotDeleteAnUnreadableHistory() throws IOException {
+        byte[] garbage = {1, 2, 3, 4, 5};
+        FileOutputStream stream = new FileOutputStream(maxFile);
+        try {
+            stream.write(garbage);
+        } finally {
+            stream.close();
+        }
+
+        MaxCore.storedLocally(maxFile).sortedLeavesForTest(Request.aClass(OneTest.class));
+
+        assertTrue(Arrays.equals(garbage, read(maxFile)));
+    }
+
+    @Test
+    public void rewritesAnUnreadableHistoryOnTheNextRun() throws IOException {
+        FileOutputStream stream = new FileOutputStream(maxFile);
+        try {
+            stream.write(new byte[]{1, 2, 3, 4, 5});
+        } finally {
+            stream.close();
+        }
+
+        MaxCore.storedLocally(maxFile).run(TwoUnEqualTests.class);
+
+        assertRemembersOrder();
+    }
+
+    @Test
+    public void rewritesTheWholeHistoryIfTheStoreWasDeleted() {
+        MaxCore core = MaxCore.storedLocally(maxFile);
+        core.run(TwoUnEqualTests.class);
+        assertTrue(maxFile.delete());
+
+        core.run(OneTest.class);
+
+        assertRemembersOrder();
+    }
+
+    @Test
+    public void rewritesTheWholeHistoryIfTheStoreWasReplaced() throws IOException {
+        MaxCore core = MaxCore.storedLocally(maxFile);
+        core.run(TwoUnEqualTests.class);
+        FileOutputStream stream = new FileOutputStream(maxFile);
+        try {
+            stream.write(new byte[]{1, 2, 3, 4, 5});
+        } finally {
+            stream.close();
+        }
+
+        core.run(OneTest.class);
+
+        assertRemembersOrder();
+    }
+
+    private void assertRemembersOrder() {
+        List<Failure> failures = MaxCore.storedLocally(maxFile).run(TwoUnEqualTests.class)
+                .getFailures();
+        assertEquals("fast", failures.get(0).getDescription().getMethodName());
+        assertEquals("slow", failures.get(1).getDescription().getMethodName());
+    }
+
+    private static byte[] read(File file) throws IOException {
+        byte[] content = new byte[(int) file.length()];
+        FileInputStream stream = new FileInputStream(file);
+        try {
+            int read = 0;
+            while (read < content.length) {
+                read += stream.read(content, read, content.length - read);
+            }
+        } finally {
+            stream.close();
+        }
+        return content;
+    }
+}
@@ -1,5 +1,6 @@
 package org.junit.tests.experimental.max;
 
+import static java.util.Arrays.asList;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertEquals;
@@ -9,11 +10,13 @@ import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import junit.framework.TestCase;
 import org.junit.After;
 import org.junit.Before;
+import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.experimental.max.MaxCore;
 import org.junit.internal.runners.JUnit38ClassRunner;
@@ -22,10 +25,14 @@ import org.junit.runner.Description;
 import org.junit.runner.JUnitCore;
 import org.junit.runner.Request;
 import org.junit.runner.Result;
+import org.junit.runner.RunWith;
 import org.junit.runner.Runner;
 import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.Filterable;
+import org.junit.runner.manipulation.NoTestsRemainException;
 import org.junit.runner.notification.Failure;
 import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
 import org.junit.tests.AllTests;
 
 public class MaxStarterTest {
@@ -291,4 +298,113 @@ public class MaxStarterTest {
         assertThat(failure.toString(), containsString("testNothing"));
         assertThat(failure.toString(), containsString("isn't public"));
     }
+
+    public static class ThreeTestsWithClassFixture {
+        static int beforeClassCount = 0;
+
+        @BeforeClass
+        public static void countBeforeClass() {
+            beforeClassCount++;
+        }
+
+        @Test
+        public void one() {
+        }
+
+        @Test
+        public void two() {
+            fail();
+        }
+
+        @Test
+        public void three() {
+        }
+    }
+
+    @Test
+    public void classFixturesRunOncePerGroupOfMethods() {
+        ThreeTestsWithClassFixture.beforeClassCount = 0;
+        Result result = fMax.run(ThreeTestsWithClassFixture.class);
+        assertEquals(3, result.getRunCount());
+        assertEquals(1, ThreeTestsWithClassFixture.beforeClassCount);
+    }
+
+    @Test
+    public void testsRunInTheSortedOrderAcrossClasses() {
+        Request request = Request.classes(TwoUnEqualTests.class, ThreeTestsWithClassFixture.class);
+        fMax.run(request);
+        final List<Description> started = new ArrayList<Description>();
+        JUnitCore core = new JUnitCore();
+        core.addListener(new RunListener() {
+            @Override
+            public void testStarted(Description description) throws Exception {
+                started.add(description);
+            }
+        });
+        List<Description> sorted = fMax.sortedLeavesForTest(request);
+        fMax.run(request, core);
+        assertEquals(sorted, started);
+    }
+
+    public static class FilterableButNotSortableRunner extends Runner implements Filterable {
+        private final Class<?> testClass;
+
+        private final List<String> methods = new ArrayList<String>(asList("a", "b", "c"));
+
+        public FilterableButNotSortableRunner(Class<?> testClass) {
+            this.testClass = testClass;
+        }
+
+        @Override
+        public Description getDescription() {
+            Description description = Description.createSuiteDescription(testClass);
+            for (String each : methods) {
+                description.addChild(Description.createTestDescription(testClass, each));
+            }
+            return description;
+        }
+
+        public void filter(Filter filter) throws NoTestsRemainException {
+            for (Iterator<String> iter = methods.iterator(); iter.hasNext(); ) {
+                if (!filter.shouldRun(Description.createTestDescription(testClass, iter.next()))) {
+                    iter.remove();
+                }
+            }
+            if (methods.isEmpty()) {
+                throw new NoTestsRemainException();
+            }
+        }
+
+        @Override
+        public void run(RunNotifier notifier) {
+            for (String each : methods) {
+                Description description = Description.createTestDescription(testClass, each);
+                notifier.fireTestStarted(description);
+                if (each.equals("c")) {
+                    notifier.fireTestFailure(new Failure(description, new AssertionError()));
+                }
+                notifier.fireTestFinished(description);
+            }
+        }
+    }
+
+    @RunWith(FilterableButNotSortableRunner.class)
+    public static class WithUnsortableRunner {
+    }
+
+    @Test
+    public void keepsTheSortedOrderForRunnersThatCannotBeSorted() {
+        fMax.run(WithUnsortableRunner.class);
+        final List<String> started = new ArrayList<String>();
+        JUnitCore core = new JUnitCore();
+        core.addListener(new RunListener() {
+            @Override
+            public void testStarted(Description description) throws Exception {
+                started.add(description.getMethodName());
+            }
+        });
+        Result result = fMax.run(Request.aClass(WithUnsortableRunner.class), core);
+        assertEquals(3, result.getRunCount());
+        assertEquals("c", started.get(0));
+    }
 }
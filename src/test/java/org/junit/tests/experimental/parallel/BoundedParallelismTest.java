@@ -0,0 +1,171 @@
+package org.junit.tests.experimental.parallel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.ParallelComputer;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.notification.StoppedByUserException;
+
+public class BoundedParallelismTest {
+    private static final AtomicInteger fRunning = new AtomicInteger();
+    private static final AtomicInteger fMaxRunning = new AtomicInteger();
+    private static final Map<Thread, Boolean> fThreads = new ConcurrentHashMap<Thread, Boolean>();
+
+    private static void work() throws InterruptedException {
+        fThreads.put(Thread.currentThread(), true);
+        int running = fRunning.incrementAndGet();
+        int max;
+        do {
+            max = fMaxRunning.get();
+        } while (running > max && !fMaxRunning.compareAndSet(max, running));
+        Thread.sleep(10);
+        fRunning.decrementAndGet();
+    }
+
+    public static class Example1 {
+        @Test
+        public void one() throws InterruptedException {
+            work();
+        }
+
+        @Test
+        public void two() throws InterruptedException {
+            work();
+        }
+
+        @Test
+        public void three() throws InterruptedException {
+            work();
+        }
+    }
+
+    public static class Example2 extends Example1 {
+    }
+
+    public static class Example3 extends Example1 {
+    }
+
+    public static class Example4 extends Example1 {
+    }
+
+    public static class InterruptingExample {
+        static final AtomicInteger fSleepersFinished = new AtomicInteger();
+        static volatile int fSleepersFinishedBeforeAfterClass = -1;
+
+        @Test
+        public void sleeps1() throws InterruptedException {
+            Thread.sleep(200);
+            fSleepersFinished.incrementAndGet();
+        }
+
+        @Test
+        public void sleeps2() throws InterruptedException {
+            Thread.sleep(200);
+            fSleepersFinished.incrementAndGet();
+        }
+
+        @Test
+        public void leavesThreadInterrupted() {
+            Thread.currentThread().interrupt();
+        }
+
+        @AfterClass
+        public static void afterClass() {
+            fSleepersFinishedBeforeAfterClass = fSleepersFinished.get();
+        }
+    }
+
+    @Before
+    public void init() {
+        fRunning.set(0);
+        fMaxRunning.set(0);
+        fThreads.clear();
+    }
+
+    @Test
+    public void runsNoMoreTestsAtOnceThanTheConfiguredNumberOfWorkers() {
+        Result result = JUnitCore.runClasses(new ParallelComputer(true, true, 2),
+                Example1.class, Example2.class, Example3.class, Example4.class);
+        assertTrue(result.wasSuccessful());
+        assertEquals(12, result.getRunCount());
+        assertFalse(fThreads.containsKey(Thread.currentThread()));
+        assertTrue("at most two threads expected, but were " + fThreads.keySet(),
+                fThreads.size() <= 2);
+        assertTrue("at most two running tests expected, but were " + fMaxRunning.get(),
+                fMaxRunning.get() <= 2);
+    }
+
+    @Test
+    public void nestedSchedulingDoesNotDeadlockWithASingleWorker() {
+        Result result = JUnitCore.runClasses(new ParallelComputer(true, true, 1),
+                Example1.class, Example2.class, Example3.class, Example4.class);
+        assertTrue(result.wasSuccessful());
+        assertEquals(12, result.getRunCount());
+        assertEquals(1, fThreads.size());
+        assertEquals(1, fMaxRunning.get());
+    }
+
+    @Test
+    public void testThatLeavesItsThreadInterruptedDoesNotAffectOtherTests() {
+        InterruptingExample.fSleepersFinished.set(0);
+        Result result = JUnitCore.runClasses(new ParallelComputer(false, true, 1),
+                InterruptingExample.class);
+        assertTrue(result.getFailures().toString(), result.wasSuccessful());
+        assertEquals(3, result.getRunCount());
+        assertEquals(2, InterruptingExample.fSleepersFinishedBeforeAfterClass);
+    }
+
+    public static class SlowExample {
+        static final CountDownLatch fStarted = new CountDownLatch(1);
+
+        @Test
+        public void slow1() throws InterruptedException {
+            fStarted.countDown();
+            Thread.sleep(60 * 1000);
+        }
+
+        @Test
+        public void slow2() throws InterruptedException {
+            fStarted.countDown();
+            Thread.sleep(60 * 1000);
+        }
+    }
+
+    @Test
+    public void interruptedRunStopsWithoutWaitingForRunningTests() throws Exception {
+        final Throwable[] thrown = new Throwable[1];
+        Thread runner = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    JUnitCore.runClasses(new ParallelComputer(false, true, 1), SlowExample.class);
+                } catch (Throwable e) {
+                    thrown[0] = e;
+                }
+            }
+        };
+        runner.start();
+        assertTrue(SlowExample.fStarted.await(10, TimeUnit.SECONDS));
+        runner.interrupt();
+        runner.join(10 * 1000);
+        assertFalse("run did not stop", runner.isAlive());
+        assertTrue(String.valueOf(thrown[0]), thrown[0] instanceof StoppedByUserException);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveParallelism() {
+        new ParallelComputer(true, true, 0);
+    }
+}
@@ -0,0 +1,191 @@
+package org.junit.tests.experimental.parallel;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.Assume;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.experimental.ForkedComputer;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.manipulation.Sorter;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.StoppedByUserException;
+import org.junit.runners.MethodSorters;
+
+public class ForkedComputerTest {
+    private static final String MARKER = "ForkedComputerTest.forked";
+
+    public static class RunsInWorker {
+        @Test
+        public void hasWorkerProperty() {
+            System.out.println("Printed by a forked test");
+            assertEquals("true", System.getProperty(MARKER));
+        }
+
+        @Test
+        public void fails() {
+            throw new IllegalStateException("expected");
+        }
+
+        @Test
+        public void assumes() {
+            Assume.assumeTrue(false);
+        }
+    }
+
+    public static class AlsoRunsInWorker {
+        @Test
+        public void hasWorkerProperty() {
+            assertEquals("true", System.getProperty(MARKER));
+        }
+    }
+
+    public static class TerminatesWorker {
+        @Test
+        public void exits() {
+            System.exit(3);
+        }
+    }
+
+    @FixMethodOrder(MethodSorters.NAME_ASCENDING)
+    public static class TerminatesWorkerBeforeOtherTests {
+        @Test
+        public void a() {
+            System.exit(3);
+        }
+
+        @Test
+        public void b() {
+        }
+
+        @Test
+        public void c() {
+        }
+    }
+
+    public static class Sleeps {
+        @Test
+        public void sleeps() throws InterruptedException {
+            Thread.sleep(60 * 1000);
+        }
+    }
+
+    private static Result run(int workers, Class<?>... classes) {
+        return new JUnitCore().run(new ForkedComputer(workers,
+                asList("-D" + MARKER + "=true")), classes);
+    }
+
+    @Test
+    public void runsClassesInWorkerJvms() {
+        assertNull(System.getProperty(MARKER));
+        Result result = run(2, RunsInWorker.class, AlsoRunsInWorker.class);
+        assertEquals(4, result.getRunCount());
+        assertEquals(1, result.getFailureCount());
+        assertEquals("expected", result.getFailures().get(0).getMessage());
+    }
+
+    @Test
+    public void reportsEventsWithLocalDescriptions() {
+        final List<Description> started = Collections.synchronizedList(
+                new ArrayList<Description>());
+        JUnitCore core = new JUnitCore();
+        core.addListener(new RunListener() {
+            @Override
+            public void testStarted(Description description) {
+                started.add(description);
+            }
+        });
+        core.run(new ForkedComputer(1), AlsoRunsInWorker.class);
+        assertEquals(asList(Description.createTestDescription(
+                AlsoRunsInWorker.class, "hasWorkerProperty")), started);
+        assertEquals(AlsoRunsInWorker.class, started.get(0).getTestClass());
+    }
+
+    @Test
+    public void replacesTerminatedWorker() {
+        Result result = run(1, TerminatesWorker.class, AlsoRunsInWorker.class);
+        assertEquals(2, result.getRunCount());
+        assertEquals(1, result.getFailureCount());
+        Failure failure = result.getFailures().get(0);
+        assertEquals("exits", failure.getDescription().getMethodName());
+        assertThat(failure.getMessage(), containsString(TerminatesWorker.class.getName()));
+    }
+
+    @Test
+    public void runsOnlyTheFilteredTestsInWorkers() {
+        Result result = new JUnitCore().run(Request.classes(new ForkedComputer(1,
+                asList("-D" + MARKER + "=true")), RunsInWorker.class, AlsoRunsInWorker.class)
+                .filterWith(Description.createTestDescription(RunsInWorker.class,
+                        "hasWorkerProperty")));
+        assertEquals(1, result.getRunCount());
+        assertEquals(0, result.getFailureCount());
+    }
+
+    @Test
+    public void runsTestsInWorkersInTheSortedOrder() {
+        final List<String> started = Collections.synchronizedList(new ArrayList<String>());
+        JUnitCore core = new JUnitCore();
+        core.addListener(new RunListener() {
+            @Override
+            public void testStarted(Description description) {
+                started.add(description.getMethodName());
+            }
+        });
+        core.run(Request.classes(new ForkedComputer(1), RunsInWorker.class).sortWith(
+                Collections.reverseOrder(new Sorter(new Comparator<Description>() {
+                    public int compare(Description o1, Description o2) {
+                        return o1.getDisplayName().compareTo(o2.getDisplayName());
+                    }
+                }))));
+        assertEquals(asList("hasWorkerProperty", "fails", "assumes"), started);
+    }
+
+    @Test
+    public void reportsTestsThatNeverStartedInTerminatedWorker() {
+        Result result = run(1, TerminatesWorkerBeforeOtherTests.class);
+        assertEquals(3, result.getRunCount());
+        assertEquals(3, result.getFailureCount());
+        for (Failure each : result.getFailures()) {
+            assertThat(each.getMessage(),
+                    containsString(TerminatesWorkerBeforeOtherTests.class.getName()));
+        }
+    }
+
+    @Test(timeout = 30 * 1000)
+    public void interruptedRunDestroysWorkersAndStops() {
+        final Thread runningThread = Thread.currentThread();
+        JUnitCore core = new JUnitCore();
+        core.addListener(new RunListener() {
+            @Override
+            public void testStarted(Description description) {
+                runningThread.interrupt();
+            }
+        });
+        try {
+            core.run(new ForkedComputer(1), Sleeps.class);
+            fail("run was not stopped");
+        } catch (StoppedByUserException e) {
+            assertTrue(Thread.interrupted());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveWorkers() {
+        new ForkedComputer(0);
+    }
+}
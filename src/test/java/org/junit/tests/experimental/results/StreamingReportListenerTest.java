@@ -0,0 +1,206 @@
+package org.junit.tests.experimental.results;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.results.StreamingReportListener;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.notification.RunListener;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+public class StreamingReportListenerTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    public static class Example {
+        @Test
+        public void passes() {
+        }
+
+        @Test
+        public void fails() {
+            assertEquals("<expected & \"quoted\">", "actual");
+        }
+
+        @Test
+        public void throwsException() {
+            throw new IllegalStateException("line\nbreak");
+        }
+
+        @Test
+        public void assumes() {
+            assumeTrue(false);
+        }
+
+        @Ignore
+        @Test
+        public void ignored() {
+        }
+    }
+
+    public static class FailsTwice {
+        @Test
+        public void fails() {
+            fail("in test");
+        }
+
+        @After
+        public void after() {
+            throw new IllegalStateException("in @After");
+        }
+    }
+
+    public static class AssumesInBeforeClass {
+        @BeforeClass
+        public static void assumes() {
+            assumeTrue(false);
+        }
+
+        @Test
+        public void passes() {
+        }
+    }
+
+    private void run(RunListener listener, Class<?>... classes) {
+        JUnitCore core = new JUnitCore();
+        core.addListener(listener);
+        core.run(classes);
+    }
+
+    @Test
+    public void writesJUnitXmlReport() throws Exception {
+        File report = folder.newFile("report.xml");
+        run(StreamingReportListener.xml(report), Example.class);
+
+        Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(report);
+        Element suite = document.getDocumentElement();
+        assertEquals("testsuite", suite.getTagName());
+        assertEquals("5", suite.getAttribute("tests"));
+        assertEquals("1", suite.getAttribute("failures"));
+        assertEquals("1", suite.getAttribute("errors"));
+        assertEquals("2", suite.getAttribute("skipped"));
+        NodeList testCases = suite.getElementsByTagName("testcase");
+        assertEquals(5, testCases.getLength());
+        Element failure = (Element) suite.getElementsByTagName("failure").item(0);
+        assertThat(failure.getAttribute("message"),
+                containsString("<expected & \"quoted\">"));
+        assertEquals("fails", ((Element) failure.getParentNode()).getAttribute("name"));
+        assertEquals(Example.class.getName(),
+                ((Element) failure.getParentNode()).getAttribute("classname"));
+        Element error = (Element) suite.getElementsByTagName("error").item(0);
+        assertEquals(IllegalStateException.class.getName(), error.getAttribute("type"));
+        assertThat(error.getTextContent(), containsString("at "));
+    }
+
+    @Test
+    public void writesOneJsonObjectPerLine() throws Exception {
+        File report = folder.newFile("report.jsonl");
+        run(StreamingReportListener.jsonLines(report), Example.class);
+
+        List<String> lines = readLines(report);
+        assertEquals(7, lines.size());
+        assertThat(lines.get(0), containsString("\"event\":\"runStarted\""));
+        assertThat(lines.get(6), containsString(
+                "\"tests\":5,\"failures\":1,\"errors\":1,\"skipped\":2"));
+        String exception = null;
+        for (String each : lines) {
+            if (each.contains("\"name\":\"throwsException\"")) {
+                exception = each;
+            }
+        }
+        assertThat(exception, containsString("\"status\":\"error\""));
+        assertThat(exception, containsString("\"message\":\"line\\nbreak\""));
+    }
+
+    @Test
+    public void writesAndCountsEveryFailureOfATest() throws Exception {
+        File report = folder.newFile("report.xml");
+        run(StreamingReportListener.xml(report), FailsTwice.class);
+
+        Element suite = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(report).getDocumentElement();
+        assertEquals("1", suite.getAttribute("tests"));
+        assertEquals("1", suite.getAttribute("failures"));
+        assertEquals("1", suite.getAttribute("errors"));
+        assertEquals("in test", ((Element) suite.getElementsByTagName("failure").item(0))
+                .getAttribute("message"));
+        assertEquals("in @After", ((Element) suite.getElementsByTagName("error").item(0))
+                .getAttribute("message"));
+    }
+
+    @Test
+    public void writesEveryFailureOfATestAsJson() throws Exception {
+        File report = folder.newFile("report.jsonl");
+        run(StreamingReportListener.jsonLines(report), FailsTwice.class);
+
+        List<String> lines = readLines(report);
+        assertEquals(3, lines.size());
+        assertThat(lines.get(1), containsString("\"status\":\"failure\""));
+        assertThat(lines.get(1), containsString(
+                "\"moreFailures\":[{\"status\":\"error\",\"type\":\"java.lang.IllegalStateException\""));
+        assertThat(lines.get(2), containsString("\"failures\":1,\"errors\":1"));
+    }
+
+    @Test
+    public void writesAssumptionFailureOutsideOfTestsAsSkipped() throws Exception {
+        File report = folder.newFile("report.xml");
+        run(StreamingReportListener.xml(report), AssumesInBeforeClass.class);
+
+        Element suite = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(report).getDocumentElement();
+        assertEquals("1", suite.getAttribute("tests"));
+        assertEquals("1", suite.getAttribute("skipped"));
+        assertEquals(1, suite.getElementsByTagName("skipped").getLength());
+    }
+
+    @Test
+    public void writesReportsLargerThanTheBuffers() throws Exception {
+        File report = folder.newFile("report.xml");
+        Class<?>[] classes = new Class<?>[1000];
+        for (int i = 0; i < classes.length; i++) {
+            classes[i] = Example.class;
+        }
+        run(StreamingReportListener.xml(report), classes);
+
+        Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(report);
+        assertEquals("5000", document.getDocumentElement().getAttribute("tests"));
+    }
+
+    private static List<String> readLines(File file) throws IOException {
+        List<String> lines = new ArrayList<String>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new FileInputStream(file), "UTF-8"));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        } finally {
+            reader.close();
+        }
+        return lines;
+    }
+}
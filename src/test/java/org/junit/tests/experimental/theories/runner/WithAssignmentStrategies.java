@@ -0,0 +1,192 @@
+package org.junit.tests.experimental.theories.runner;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.experimental.results.PrintableResult.testResult;
+import static org.junit.experimental.results.ResultMatchers.hasSingleFailureContaining;
+import static org.junit.experimental.results.ResultMatchers.isSuccessful;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.experimental.theories.Theory.Strategy;
+import org.junit.experimental.theories.internal.Assignments;
+import org.junit.runner.RunWith;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.Statement;
+
+public class WithAssignmentStrategies {
+    private static final List<String> assignments = new ArrayList<String>();
+
+    @RunWith(Theories.class)
+    public static class Exhaustive {
+        @DataPoints
+        public static int[] ints = {1, 2, 3};
+
+        @Theory
+        public void threeInts(int x, int y, int z) {
+            assignments.add("" + x + y + z);
+        }
+    }
+
+    @Test
+    public void exhaustiveStrategyRunsEveryCombinationInOrder() {
+        assignments.clear();
+        assertThat(testResult(Exhaustive.class), isSuccessful());
+        assertEquals(27, assignments.size());
+        assertEquals("111", assignments.get(0));
+        assertEquals("112", assignments.get(1));
+        assertEquals("333", assignments.get(26));
+    }
+
+    @RunWith(Theories.class)
+    public static class Limited {
+        @DataPoints
+        public static int[] ints = {1, 2, 3};
+
+        @Theory(maxAssignments = 5)
+        public void threeInts(int x, int y, int z) {
+            assignments.add("" + x + y + z);
+        }
+    }
+
+    @Test
+    public void maxAssignmentsLimitsTheNumberOfRuns() {
+        assignments.clear();
+        assertThat(testResult(Limited.class), isSuccessful());
+        assertEquals(5, assignments.size());
+    }
+
+    @RunWith(Theories.class)
+    public static class Pairwise {
+        @DataPoints
+        public static int[] ints = {1, 2, 3};
+
+        @Theory(strategy = Strategy.PAIRWISE)
+        public void fourInts(int w, int x, int y, int z) {
+            assignments.add("" + w + x + y + z);
+        }
+    }
+
+    @Test
+    public void pairwiseStrategyCoversEveryPairOfValues() {
+        assignments.clear();
+        assertThat(testResult(Pairwise.class), isSuccessful());
+        assertTrue(assignments.size() < 81);
+
+        Set<String> pairs = new HashSet<String>();
+        for (String each : assignments) {
+            for (int a = 0; a < 4; a++) {
+                for (int b = a + 1; b < 4; b++) {
+                    pairs.add("" + a + each.charAt(a) + b + each.charAt(b));
+                }
+            }
+        }
+        assertEquals(6 * 9, pairs.size());
+    }
+
+    @RunWith(Theories.class)
+    public static class Random {
+        @DataPoints
+        public static int[] ints = {1, 2, 3, 4, 5, 6, 7, 8, 9};
+
+        @Theory(strategy = Strategy.RANDOM, maxAssignments = 10, seed = 42)
+        public void threeInts(int x, int y, int z) {
+            assignments.add("" + x + y + z);
+        }
+    }
+
+    @Test
+    public void randomStrategyIsReproducible() {
+        assignments.clear();
+        assertThat(testResult(Random.class), isSuccessful());
+        List<String> firstRun = new ArrayList<String>(assignments);
+
+        assignments.clear();
+        assertThat(testResult(Random.class), isSuccessful());
+        assertEquals(10, firstRun.size());
+        assertThat(assignments, is(firstRun));
+    }
+
+    @RunWith(Theories.class)
+    public static class RandomWithoutLimit {
+        @DataPoints
+        public static int[] ints = {1, 2, 3};
+
+        @Theory(strategy = Strategy.RANDOM)
+        public void oneInt(int x) {
+        }
+    }
+
+    @Test
+    public void randomStrategyRequiresMaxAssignments() {
+        assertThat(testResult(RandomWithoutLimit.class),
+                hasSingleFailureContaining("must set maxAssignments"));
+    }
+
+    @RunWith(Theories.class)
+    public static class FailingPairwise {
+        @DataPoints
+        public static int[] ints = {1, 2, 3};
+
+        @Theory(strategy = Strategy.PAIRWISE)
+        public void neverTwoAndThree(int x, int y) {
+            assertTrue(x != 2 || y != 3);
+        }
+    }
+
+    @Test
+    public void failuresReportTheSampledAssignment() {
+        assertThat(testResult(FailingPairwise.class).toString(),
+                containsString("neverTwoAndThree(\"2\" <from ints[1]>, \"3\" <from ints[2]>)"));
+    }
+
+    public static class CountingTheories extends Theories {
+        static int completeAssignments = 0;
+
+        public CountingTheories(Class<?> klass) throws InitializationError {
+            super(klass);
+        }
+
+        @Override
+        public Statement methodBlock(FrameworkMethod method) {
+            return new TheoryAnchor(method, getTestClass()) {
+                @Override
+                protected void runWithAssignment(Assignments parameterAssignment)
+                        throws Throwable {
+                    if (parameterAssignment.isComplete()) {
+                        completeAssignments++;
+                    }
+                    super.runWithAssignment(parameterAssignment);
+                }
+            };
+        }
+    }
+
+    @RunWith(CountingTheories.class)
+    public static class WithCountingRunner {
+        @DataPoints
+        public static int[] ints = {1, 2, 3};
+
+        @Theory
+        public void twoInts(int x, int y) {
+        }
+    }
+
+    @Test
+    public void everyCompleteAssignmentIsPassedToRunWithAssignment() {
+        CountingTheories.completeAssignments = 0;
+        assertThat(testResult(WithCountingRunner.class), isSuccessful());
+        assertEquals(9, CountingTheories.completeAssignments);
+    }
+}
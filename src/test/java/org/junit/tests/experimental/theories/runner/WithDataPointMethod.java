@@ -17,6 +17,7 @@ import java.util.List;
 import org.hamcrest.Matcher;
 import org.junit.Test;
 import org.junit.experimental.theories.DataPoint;
+import org.junit.experimental.theories.DataPoints;
 import org.junit.experimental.theories.Theories;
 import org.junit.experimental.theories.Theory;
 import org.junit.runner.JUnitCore;
@@ -104,6 +105,50 @@ public class WithDataPointMethod {
                 .size(), is(0));
     }
 
+    @RunWith(Theories.class)
+    public static class CountsDataPointsInvocations {
+        static int invocations = 0;
+
+        @DataPoints
+        public static int[] ints() {
+            invocations++;
+            return new int[]{1, 2, 3};
+        }
+
+        @Theory
+        public void threeInts(int x, int y, int z) {
+        }
+    }
+
+    @Test
+    public void dataPointsMethodsAreInvokedOncePerTheory() {
+        CountsDataPointsInvocations.invocations = 0;
+        assertThat(testResult(CountsDataPointsInvocations.class), isSuccessful());
+        assertThat(CountsDataPointsInvocations.invocations, is(1));
+    }
+
+    @RunWith(Theories.class)
+    public static class DoesNotReuseDataPoints {
+        static int invocations = 0;
+
+        @DataPoints
+        public static int[] ints() {
+            invocations++;
+            return new int[]{1, 2, 3};
+        }
+
+        @Theory(reuseDataPoints = false)
+        public void threeInts(int x, int y, int z) {
+        }
+    }
+
+    @Test
+    public void dataPointsMethodsAreInvokedForEachPartialAssignmentIfNotReused() {
+        DoesNotReuseDataPoints.invocations = 0;
+        assertThat(testResult(DoesNotReuseDataPoints.class), isSuccessful());
+        assertThat(DoesNotReuseDataPoints.invocations, is(1 + 3 + 9));
+    }
+
     private List<Failure> failures(Class<?> type) {
         return JUnitCore.runClasses(type).getFailures();
     }
@@ -0,0 +1,73 @@
+package org.junit.tests.experimental.theories.runner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.experimental.results.PrintableResult.testResult;
+import static org.junit.experimental.results.ResultMatchers.isSuccessful;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.rules.TestName;
+import org.junit.runner.RunWith;
+
+public class WithFixturesPerAssignment {
+    private static final List<Object> instances = new ArrayList<Object>();
+
+    private static int befores = 0;
+
+    private static int afters = 0;
+
+    @RunWith(Theories.class)
+    public static class CountsFixtures {
+        @DataPoints
+        public static int[] ints = {1, 2, 3};
+
+        @Rule
+        public final TestName name = new TestName();
+
+        private boolean beforeRun = false;
+
+        @Before
+        public void before() {
+            beforeRun = true;
+            befores++;
+        }
+
+        @After
+        public void after() {
+            afters++;
+        }
+
+        @Theory
+        public void twoInts(int x, int y) {
+            assertTrue(beforeRun);
+            assertEquals("twoInts", name.getMethodName());
+            instances.add(this);
+        }
+    }
+
+    @Test
+    public void runsFixturesAndRulesOnAFreshInstanceForEachAssignment() {
+        instances.clear();
+        befores = 0;
+        afters = 0;
+
+        assertThat(testResult(CountsFixtures.class), isSuccessful());
+        assertEquals(9, instances.size());
+        assertEquals(9, befores);
+        assertEquals(9, afters);
+        for (int i = 1; i < instances.size(); i++) {
+            assertNotSame(instances.get(i - 1), instances.get(i));
+        }
+    }
+}
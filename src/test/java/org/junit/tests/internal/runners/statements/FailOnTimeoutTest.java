@@ -7,9 +7,14 @@ import static java.lang.Thread.sleep;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import org.junit.Ignore;
@@ -194,4 +199,100 @@ public class FailOnTimeoutTest {
             }
         }
     }
+
+    @Test
+    public void runsStatementOnAnotherThread() throws Throwable {
+        final Thread[] evaluatingThread = new Thread[1];
+        new FailOnTimeout(new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                evaluatingThread[0] = Thread.currentThread();
+            }
+        }, TIMEOUT).evaluate();
+        assertFalse(Thread.currentThread() == evaluatingThread[0]);
+        assertEquals("FailOnTimeoutGroup", evaluatingThread[0].getThreadGroup().getName());
+    }
+
+    @Test
+    public void timeoutDoesNotInterruptTheNextStatement() throws Throwable {
+        try {
+            evaluateWithWaitDuration(DURATION_THAT_EXCEEDS_TIMEOUT);
+            fail("No exception was thrown when test timed out");
+        } catch (TestTimedOutException expected) {
+        }
+        for (int i = 0; i < 5; i++) {
+            evaluateWithWaitDuration(10);
+        }
+    }
+
+    @Test
+    public void runsEachStatementOnANewThreadByDefault() throws Throwable {
+        final InheritableThreadLocal<String> inherited = new InheritableThreadLocal<String>();
+        final String[] value = new String[1];
+        final Thread[] evaluatingThreads = new Thread[2];
+        inherited.set("value of caller");
+        try {
+            for (int i = 0; i < 2; i++) {
+                final int index = i;
+                new FailOnTimeout(new Statement() {
+                    @Override
+                    public void evaluate() throws Throwable {
+                        value[0] = inherited.get();
+                        evaluatingThreads[index] = Thread.currentThread();
+                    }
+                }, TIMEOUT).evaluate();
+                assertEquals("value of caller", value[0]);
+            }
+        } finally {
+            inherited.remove();
+        }
+        assertFalse(evaluatingThreads[0] == evaluatingThreads[1]);
+    }
+
+    @Test
+    public void runsStatementOnSharedWorkerIfThreadPoolingIsEnabled() throws Throwable {
+        final Set<Thread> evaluatingThreads = new HashSet<Thread>();
+        FailOnTimeout pooled = FailOnTimeout.builder()
+                .withTimeout(TIMEOUT, TimeUnit.MILLISECONDS)
+                .withThreadPooling(true)
+                .build(new Statement() {
+                    @Override
+                    public void evaluate() throws Throwable {
+                        evaluatingThreads.add(Thread.currentThread());
+                    }
+                });
+        for (int i = 0; i < 10; i++) {
+            pooled.evaluate();
+        }
+        // A worker may not be idle again in time for the next statement, but
+        // not every time
+        assertTrue(evaluatingThreads.size() < 10);
+        assertFalse(evaluatingThreads.contains(Thread.currentThread()));
+    }
+
+    @Test
+    public void runsStatementWithContextClassLoaderOfCallingThread() throws Throwable {
+        final ClassLoader[] contextClassLoader = new ClassLoader[1];
+        Statement statement = new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                contextClassLoader[0] = Thread.currentThread().getContextClassLoader();
+            }
+        };
+        Thread thread = Thread.currentThread();
+        ClassLoader original = thread.getContextClassLoader();
+        try {
+            for (int i = 0; i < 2; i++) {
+                ClassLoader classLoader = new URLClassLoader(new URL[0]);
+                thread.setContextClassLoader(classLoader);
+                FailOnTimeout.builder()
+                        .withTimeout(TIMEOUT, TimeUnit.MILLISECONDS)
+                        .withThreadPooling(true)
+                        .build(statement).evaluate();
+                assertSame(classLoader, contextClassLoader[0]);
+            }
+        } finally {
+            thread.setContextClassLoader(original);
+        }
+    }
 }
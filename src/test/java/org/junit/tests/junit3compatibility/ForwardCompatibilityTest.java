@@ -1,7 +1,15 @@
 package org.junit.tests.junit3compatibility;
 
 import junit.framework.AssertionFailedError;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.concurrent.CountDownLatch;
+
 import junit.framework.JUnit4TestAdapter;
+import junit.framework.JUnit4TestAdapterCache;
 import junit.framework.TestCase;
 import junit.framework.TestFailure;
 import junit.framework.TestListener;
@@ -251,4 +259,116 @@ public class ForwardCompatibilityTest extends TestCase {
         junit.framework.Test adapter = new JUnit4TestAdapter(NoTests.class);
         assertEquals(NoTests.class.getName(), adapter.toString());
     }
+
+    public void testCacheReturnsSameTestForDescription() {
+        JUnit4TestAdapterCache cache = new JUnit4TestAdapterCache();
+        Description description = Description.createTestDescription(NewTest.class, "test");
+        junit.framework.Test test = cache.asTest(description);
+        assertSame(test, cache.asTest(Description.createTestDescription(NewTest.class, "test")));
+        assertSame(test, cache.get(description));
+        assertEquals(1, cache.size());
+    }
+
+    public void testCacheCreatesOneTestForConcurrentAdapters() throws Exception {
+        final JUnit4TestAdapterCache cache = new JUnit4TestAdapterCache();
+        final Description description = Description.createTestDescription(NewTest.class, "test");
+        final junit.framework.Test[] tests = new junit.framework.Test[8];
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[tests.length];
+        for (int i = 0; i < threads.length; i++) {
+            final int index = i;
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    tests[index] = cache.asTest(description);
+                }
+            };
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread each : threads) {
+            each.join();
+        }
+        for (junit.framework.Test each : tests) {
+            assertSame(tests[0], each);
+        }
+    }
+
+    public static class CollectsGarbage {
+        @Test
+        public void collectGarbage() {
+            System.gc();
+        }
+    }
+
+    public void testListenersGetTheSameTestForAllEventsOfATest() {
+        final junit.framework.Test[] started = new junit.framework.Test[1];
+        final junit.framework.Test[] ended = new junit.framework.Test[1];
+        TestResult result = new TestResult();
+        result.addListener(new TestListener() {
+            public void startTest(junit.framework.Test test) {
+                started[0] = test;
+            }
+
+            public void endTest(junit.framework.Test test) {
+                ended[0] = test;
+            }
+
+            public void addError(junit.framework.Test test, Throwable e) {
+            }
+
+            public void addFailure(junit.framework.Test test, AssertionFailedError t) {
+            }
+        });
+        new JUnit4TestAdapter(CollectsGarbage.class, new JUnit4TestAdapterCache()).run(result);
+        assertNotNull(started[0]);
+        assertSame(started[0], ended[0]);
+    }
+
+    public void testCacheLooksUpTestsOfItsOwnEntries() {
+        JUnit4TestAdapterCache cache = new JUnit4TestAdapterCache();
+        Description description = Description.createTestDescription(NewTest.class, "test");
+        junit.framework.Test test = cache.asTest(description);
+        junit.framework.Test other = new SerializableTest();
+        assertSame(test, cache.getOrDefault(description, other));
+        assertSame(test, cache.putIfAbsent(description, other));
+        assertFalse(cache.replace(description, other, other));
+        assertTrue(cache.replace(description, test, other));
+        assertSame(other, cache.get(description));
+        assertFalse(cache.remove(description, test));
+        assertTrue(cache.remove(description, other));
+        assertSame(test, cache.getOrDefault(description, test));
+    }
+
+    public static class SerializableTest implements junit.framework.Test, Serializable {
+        private static final long serialVersionUID = 1L;
+
+        public int countTestCases() {
+            return 1;
+        }
+
+        public void run(TestResult result) {
+        }
+    }
+
+    public void testSerializedCacheKeepsItsTests() throws Exception {
+        JUnit4TestAdapterCache cache = new JUnit4TestAdapterCache();
+        Description description = Description.createTestDescription(NewTest.class, "test");
+        junit.framework.Test test = new SerializableTest();
+        cache.put(description, test);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(cache);
+        out.close();
+
+        JUnit4TestAdapterCache copy = (JUnit4TestAdapterCache) new ObjectInputStream(
+                new ByteArrayInputStream(bytes.toByteArray())).readObject();
+        assertEquals(1, copy.size());
+        assertTrue(copy.get(description) instanceof SerializableTest);
+    }
 }
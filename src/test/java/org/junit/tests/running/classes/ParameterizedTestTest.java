@@ -3,14 +3,20 @@ package org.junit.tests.running.classes;
 import static java.util.Arrays.asList;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.experimental.results.PrintableResult.testResult;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -21,12 +27,15 @@ import org.junit.runner.Request;
 import org.junit.runner.Result;
 import org.junit.runner.RunWith;
 import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Filter;
 import org.junit.runner.notification.Failure;
 import org.junit.runners.Parameterized;
 import org.junit.runners.Parameterized.Parameter;
 import org.junit.runners.Parameterized.Parameters;
 import org.junit.runners.Parameterized.UseParametersRunnerFactory;
 import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.TestClass;
+import org.junit.runners.parameterized.BlockJUnit4ClassRunnerWithParameters;
 import org.junit.runners.parameterized.ParametersRunnerFactory;
 import org.junit.runners.parameterized.TestWithParameters;
 
@@ -497,4 +506,372 @@ public class ParameterizedTestTest {
                 UseParameterizedFactoryTest.class,
                 "Called ExceptionThrowingRunnerFactory.");
     }
-}
\ No newline at end of file
+
+    @RunWith(Parameterized.class)
+    static public class StreamingTest {
+        private static int rowsPulled;
+
+        private static final List<String> log = new ArrayList<String>();
+
+        @Parameters(name = "{0}", streaming = true, describeUpFront = false)
+        public static Iterable<Object> data() {
+            rowsPulled = 0;
+            return new Iterable<Object>() {
+                public Iterator<Object> iterator() {
+                    return new Iterator<Object>() {
+                        public boolean hasNext() {
+                            return rowsPulled < 3;
+                        }
+
+                        public Object next() {
+                            return rowsPulled++;
+                        }
+
+                        public void remove() {
+                            throw new UnsupportedOperationException();
+                        }
+                    };
+                }
+            };
+        }
+
+        @Parameter
+        public int row;
+
+        @BeforeClass
+        public static void before() {
+            log.add("before");
+        }
+
+        @AfterClass
+        public static void after() {
+            log.add("after");
+        }
+
+        @Test
+        public void pulledJustBeforeRunning() {
+            log.add(row + "/" + rowsPulled);
+        }
+
+        @Test
+        public void other() {
+        }
+    }
+
+    @Test
+    public void streamingPullsEachRowJustBeforeItRuns() {
+        StreamingTest.log.clear();
+        Result result = JUnitCore.runClasses(StreamingTest.class);
+        assertEquals(6, result.getRunCount());
+        assertEquals(0, result.getFailureCount());
+        assertEquals(asList("before", "0/1", "1/2", "2/3", "after"),
+                StreamingTest.log);
+    }
+
+    @Test
+    public void streamingWithoutUpFrontDescriptionDescribesTestMethodsOnly() {
+        Description description = Request.aClass(StreamingTest.class)
+                .getRunner().getDescription();
+        assertEquals(2, description.getChildren().size());
+        for (Description each : description.getChildren()) {
+            assertEquals(StreamingTest.class, each.getTestClass());
+        }
+    }
+
+    @Test
+    public void suiteLevelFilterKeepsClassWithoutUpFrontDescription() {
+        StreamingTest.log.clear();
+        Request request = Request.classes(StreamingTest.class).filterWith(
+                new Filter() {
+                    @Override
+                    public boolean shouldRun(Description description) {
+                        if (description.isTest()) {
+                            return StreamingTest.class.equals(description.getTestClass());
+                        }
+                        for (Description each : description.getChildren()) {
+                            if (shouldRun(each)) {
+                                return true;
+                            }
+                        }
+                        return false;
+                    }
+
+                    @Override
+                    public String describe() {
+                        return "tests of StreamingTest";
+                    }
+                });
+        Result result = new JUnitCore().run(request);
+        assertEquals(6, result.getRunCount());
+        assertEquals(0, result.getFailureCount());
+    }
+
+    @Test
+    public void streamingAppliesFiltersToEachRow() {
+        StreamingTest.log.clear();
+        Request request = Request.aClass(StreamingTest.class).filterWith(
+                Description.createTestDescription(StreamingTest.class,
+                        "pulledJustBeforeRunning[1]"));
+        Result result = new JUnitCore().run(request);
+        assertEquals(1, result.getRunCount());
+        assertEquals(asList("before", "1/2", "after"), StreamingTest.log);
+    }
+
+    @RunWith(Parameterized.class)
+    static public class StreamingTestDescribedUpFront {
+        static int calls = 0;
+
+        @Parameters(streaming = true, describeUpFront = true)
+        public static Iterable<Object> data() {
+            calls++;
+            return Arrays.<Object>asList("a", "b");
+        }
+
+        @Parameter
+        public String parameter;
+
+        @Test
+        public void aTest() {
+        }
+    }
+
+    @Test
+    public void streamingDescribesRowsUpFront() {
+        Description description = Request.aClass(
+                StreamingTestDescribedUpFront.class).getRunner()
+                .getDescription();
+        assertEquals(2, description.testCount());
+        assertEquals("[0]", description.getChildren().get(0).getDisplayName());
+        assertEquals(2, JUnitCore.runClasses(
+                StreamingTestDescribedUpFront.class).getRunCount());
+    }
+
+    @Test
+    public void streamingCallsParametersMethodOnce() {
+        StreamingTestDescribedUpFront.calls = 0;
+        Runner runner = Request.aClass(StreamingTestDescribedUpFront.class).getRunner();
+        assertEquals(2, runner.getDescription().testCount());
+        assertEquals(2, new JUnitCore().run(runner).getRunCount());
+        assertEquals(1, StreamingTestDescribedUpFront.calls);
+    }
+
+    @Test
+    public void streamingFilterThatRemovesAllRowsDescribedUpFrontFails() {
+        Result result = new JUnitCore().run(Request.aClass(
+                StreamingTestDescribedUpFront.class).filterWith(
+                Description.createTestDescription(
+                        StreamingTestDescribedUpFront.class, "aTest[2]")));
+        assertEquals(1, result.getFailureCount());
+        assertTrue(result.getFailures().get(0).getMessage(),
+                result.getFailures().get(0).getMessage().startsWith("No tests found matching"));
+    }
+
+    @RunWith(Parameterized.class)
+    static public class StreamingTestWithBrokenParameters {
+        @Parameters(streaming = true)
+        public static Iterable<Object> data() {
+            return new Iterable<Object>() {
+                public Iterator<Object> iterator() {
+                    return new Iterator<Object>() {
+                        int next = 0;
+
+                        public boolean hasNext() {
+                            return true;
+                        }
+
+                        public Object next() {
+                            if (next > 0) {
+                                throw new IllegalStateException("broken parameters");
+                            }
+                            return next++;
+                        }
+
+                        public void remove() {
+                            throw new UnsupportedOperationException();
+                        }
+                    };
+                }
+            };
+        }
+
+        @Parameter
+        public int parameter;
+
+        @Test
+        public void aTest() {
+        }
+    }
+
+    @Test
+    public void failureWhileDescribingStreamingRowsIsReported() {
+        Result result = JUnitCore.runClasses(StreamingTestWithBrokenParameters.class);
+        assertEquals(1, result.getFailureCount());
+        assertEquals("broken parameters", result.getFailures().get(0).getMessage());
+    }
+
+    static public class RecordingRunnerFactory implements
+            ParametersRunnerFactory {
+        static final List<TestClass> testClasses = new ArrayList<TestClass>();
+
+        public Runner createRunnerForTestWithParameters(TestWithParameters test)
+                throws InitializationError {
+            BlockJUnit4ClassRunnerWithParameters runner =
+                    new BlockJUnit4ClassRunnerWithParameters(test);
+            testClasses.add(runner.getTestClass());
+            return runner;
+        }
+    }
+
+    @RunWith(Parameterized.class)
+    @UseParametersRunnerFactory(RecordingRunnerFactory.class)
+    static public class TestWithRecordingRunnerFactory {
+        @Parameters
+        public static Iterable<Object[]> data() {
+            return Arrays.asList(new Object[][]{{0, "a"}, {1, "b"}, {2, "c"}});
+        }
+
+        @Parameter(0)
+        public int number;
+
+        @Parameter(1)
+        public String letter;
+
+        @Test
+        public void aTest() {
+            assertEquals("abc".charAt(number), letter.charAt(0));
+        }
+    }
+
+    @Test
+    public void runnersShareTestClassOfParameterizedRunner() {
+        RecordingRunnerFactory.testClasses.clear();
+        Result result = JUnitCore.runClasses(TestWithRecordingRunnerFactory.class);
+        assertEquals(3, result.getRunCount());
+        assertEquals(0, result.getFailureCount());
+        List<TestClass> testClasses = RecordingRunnerFactory.testClasses;
+        assertEquals(3, testClasses.size());
+        assertSame(testClasses.get(0), testClasses.get(1));
+        assertSame(testClasses.get(0), testClasses.get(2));
+    }
+
+    @RunWith(Parameterized.class)
+    static public class ConcurrentTest {
+        static CyclicBarrier barrier;
+
+        static final AtomicInteger beforeClassCount = new AtomicInteger();
+
+        @Parameters(parallelism = 3)
+        public static Iterable<Object> data() {
+            return Arrays.<Object>asList(0, 1, 2);
+        }
+
+        @Parameter
+        public int row;
+
+        @BeforeClass
+        public static void before() {
+            beforeClassCount.incrementAndGet();
+        }
+
+        @Test
+        public void allRowsRunAtTheSameTime() throws Exception {
+            barrier.await(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void runsSetsOfParametersConcurrently() {
+        ConcurrentTest.barrier = new CyclicBarrier(3);
+        ConcurrentTest.beforeClassCount.set(0);
+        Result result = JUnitCore.runClasses(ConcurrentTest.class);
+        assertEquals(3, result.getRunCount());
+        assertEquals(0, result.getFailureCount());
+        assertEquals(1, ConcurrentTest.beforeClassCount.get());
+    }
+
+    @RunWith(Parameterized.class)
+    static public class StreamingConcurrentTest {
+        static CyclicBarrier barrier;
+
+        @Parameters(streaming = true, parallelism = 2)
+        public static Iterable<Object> data() {
+            return Arrays.<Object>asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        }
+
+        @Parameter
+        public int row;
+
+        @Test
+        public void pairsOfRowsRunAtTheSameTime() throws Exception {
+            barrier.await(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void runsStreamedSetsOfParametersConcurrently() {
+        StreamingConcurrentTest.barrier = new CyclicBarrier(2);
+        Result result = JUnitCore.runClasses(StreamingConcurrentTest.class);
+        assertEquals(10, result.getRunCount());
+        assertEquals(0, result.getFailureCount());
+    }
+
+    @RunWith(Parameterized.class)
+    static public class BoundedConcurrentTest {
+        static final AtomicInteger running = new AtomicInteger();
+
+        static final AtomicInteger maxRunning = new AtomicInteger();
+
+        @Parameters(streaming = true, parallelism = 2)
+        public static Iterable<Object> data() {
+            return Arrays.<Object>asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11);
+        }
+
+        @Parameter
+        public int row;
+
+        @Test
+        public void countsRunningRows() throws Exception {
+            int now = running.incrementAndGet();
+            int max;
+            do {
+                max = maxRunning.get();
+            } while (now > max && !maxRunning.compareAndSet(max, now));
+            Thread.sleep(20);
+            running.decrementAndGet();
+        }
+    }
+
+    @Test
+    public void runsNoMoreSetsOfParametersAtOnceThanTheParallelism() {
+        BoundedConcurrentTest.maxRunning.set(0);
+        Result result = JUnitCore.runClasses(BoundedConcurrentTest.class);
+        assertEquals(12, result.getRunCount());
+        assertEquals(0, result.getFailureCount());
+        assertTrue("at most two running rows expected, but were "
+                + BoundedConcurrentTest.maxRunning.get(),
+                BoundedConcurrentTest.maxRunning.get() <= 2);
+    }
+
+    @RunWith(Parameterized.class)
+    static public class TestWithInvalidParallelism {
+        @Parameters(parallelism = 0)
+        public static Iterable<Object> data() {
+            return Arrays.<Object>asList(0);
+        }
+
+        @Parameter
+        public int row;
+
+        @Test
+        public void aTest() {
+        }
+    }
+
+    @Test
+    public void failsOnInvalidParallelism() {
+        assertTestCreatesSingleFailureWithMessage(
+                TestWithInvalidParallelism.class,
+                TestWithInvalidParallelism.class.getName()
+                        + ".data() must have a positive parallelism, but has 0.");
+    }
+}
@@ -3,8 +3,11 @@ package org.junit.tests.running.classes;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 
+import java.util.Arrays;
 import java.util.List;
 
 import org.hamcrest.Matcher;
@@ -18,12 +21,14 @@ import org.junit.runner.Description;
 import org.junit.runner.JUnitCore;
 import org.junit.runner.Request;
 import org.junit.runner.Result;
+import org.junit.runner.Runner;
 import org.junit.runner.manipulation.Filter;
 import org.junit.runner.notification.Failure;
 import org.junit.runner.notification.RunListener;
 import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.BlockJUnit4ClassRunner;
 import org.junit.runners.ParentRunner;
+import org.junit.runners.Suite;
 import org.junit.runners.model.InitializationError;
 import org.junit.runners.model.RunnerScheduler;
 import org.junit.tests.experimental.rules.RuleMemberValidatorTest.TestWithNonStaticClassRule;
@@ -264,4 +269,49 @@ public class ParentRunnerTest {
             testIgnored++;
         }
     }
+
+    @Test
+    public void descriptionIsBuiltOnceUntilFiltered() throws Exception {
+        ParentRunner<?> runner = new BlockJUnit4ClassRunner(FruitTest.class);
+        Description description = runner.getDescription();
+        assertSame(description, runner.getDescription());
+
+        runner.filter(Filter.matchMethodDescription(
+                Description.createTestDescription(FruitTest.class, "apple")));
+        assertEquals(1, runner.getDescription().getChildren().size());
+    }
+
+    @Test
+    public void suiteDescriptionReflectsFilteringOfChildRunners() throws Exception {
+        ParentRunner<?> child = new BlockJUnit4ClassRunner(FruitTest.class);
+        ParentRunner<?> suite = new Suite((Class<?>) null, Arrays.<Runner>asList(child)) {
+        };
+        assertEquals(2, suite.getDescription().testCount());
+
+        child.filter(Filter.matchMethodDescription(
+                Description.createTestDescription(FruitTest.class, "apple")));
+        assertEquals(1, suite.getDescription().testCount());
+    }
+
+    @Test
+    public void filteringOtherRunnersKeepsDescriptionsOfUnchangedRunners() throws Exception {
+        ParentRunner<?> filtered = new BlockJUnit4ClassRunner(FruitTest.class);
+        ParentRunner<?> sibling = new BlockJUnit4ClassRunner(FruitTest.class);
+        ParentRunner<?> suite = new Suite((Class<?>) null, Arrays.<Runner>asList(filtered, sibling)) {
+        };
+        ParentRunner<?> otherSuite = new Suite((Class<?>) null,
+                Arrays.<Runner>asList(new BlockJUnit4ClassRunner(FruitTest.class))) {
+        };
+        Description siblingDescription = sibling.getDescription();
+        Description suiteDescription = suite.getDescription();
+        Description otherSuiteDescription = otherSuite.getDescription();
+
+        filtered.filter(Filter.matchMethodDescription(
+                Description.createTestDescription(FruitTest.class, "apple")));
+        assertSame(siblingDescription, sibling.getDescription());
+        assertSame(otherSuiteDescription, otherSuite.getDescription());
+        assertNotSame(suiteDescription, suite.getDescription());
+        assertEquals(3, suite.getDescription().testCount());
+        assertSame(suite.getDescription(), suite.getDescription());
+    }
 }